@@ -0,0 +1,60 @@
+package com.saumajit.tprm.grc.config;
+
+import com.saumajit.tprm.grc.dto.EvidenceProcessingEvent;
+import com.saumajit.tprm.grc.model.EvidenceUpload;
+import com.saumajit.tprm.grc.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// Round trip of the evidence-processing event in each wire encoding
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EvidenceEventSerializationBenchmark {
+
+    @Param({"JSON", "BINARY"})
+    private EvidenceEventSerializer.Encoding encoding;
+
+    private EvidenceEventSerializer serializer;
+    private EvidenceEventDeserializer deserializer;
+    private EvidenceProcessingEvent event;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(7L);
+
+        EvidenceUpload evidence = new EvidenceUpload();
+        evidence.setId(123_456L);
+        evidence.setBatchId("4f1c2a5e-8d7b-4a1e-9b3c-2d5e6f7a8b9c");
+        evidence.setFilePath("evidence/4f1c2a5e-8d7b-4a1e-9b3c-2d5e6f7a8b9c/0b6f3c1e-2a4d-4e8f-9c7b-1a2b3c4d5e6f.pdf");
+        evidence.setFileSize(4_812_331L);
+        evidence.setContentType("application/pdf");
+        evidence.setEvidenceType(EvidenceUpload.EvidenceType.AUDIT_REPORT);
+        evidence.setUploadedBy(user);
+
+        event = new EvidenceProcessingEvent(evidence);
+        serializer = new EvidenceEventSerializer(encoding);
+        deserializer = new EvidenceEventDeserializer();
+        payload = serializer.serialize("evidence-processing", event);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize("evidence-processing", event);
+    }
+
+    @Benchmark
+    public EvidenceProcessingEvent deserialize() {
+        return deserializer.deserialize("evidence-processing", payload);
+    }
+}
@@ -0,0 +1,54 @@
+package com.saumajit.tprm.grc.config;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Per-request token handling in JwtAuthenticationFilter, with and without the verified-token cache
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    @Param({"false", "true"})
+    private boolean tokenCache;
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "benchmark-secret-key-that-is-at-least-256-bits-long");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "tokenCacheEnabled", tokenCache);
+        ReflectionTestUtils.setField(jwtUtil, "tokenCacheTtl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(jwtUtil, "tokenCacheMaxSize", 10_000L);
+        jwtUtil.initTokenCache();
+        token = jwtUtil.generateToken(new User("analyst", "n/a", List.of()));
+    }
+
+    @Benchmark
+    public Optional<Claims> verifyAndExtract() {
+        return jwtUtil.verifyAndExtract(token);
+    }
+
+    // The previous filter sequence: verify, then parse again for the subject
+    @Benchmark
+    public String validateThenExtractUsername() {
+        return jwtUtil.validateToken(token) ? jwtUtil.extractUsername(token) : null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.saumajit.tprm.grc.service;
+
+import com.saumajit.tprm.grc.dto.ThirdPartyImportDTO;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+// Streaming parse of a bulk-import file into import rows, as the splitter does
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ImportCsvBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    private String csv;
+
+    @Setup
+    public void generateCsv() {
+        StringBuilder sb = new StringBuilder("companyName,domain,industry,employeeCount,revenue,contactEmail,contactPhone,status\n");
+        for (int i = 0; i < rows; i++) {
+            sb.append("Vendor ").append(i).append(",vendor").append(i).append(".example.com,Technology,")
+                    .append(50 + i % 5000).append(',').append(1_000_000L + i).append(",contact@vendor")
+                    .append(i).append(".example.com,+1-555-0100,active\n");
+        }
+        csv = sb.toString();
+    }
+
+    @Benchmark
+    public void parseFile(Blackhole blackhole) throws Exception {
+        try (CSVParser parser = ThirdPartyService.IMPORT_CSV_FORMAT.parse(new StringReader(csv))) {
+            for (CSVRecord record : parser) {
+                ThirdPartyImportDTO row = ThirdPartyService.toImportRow(record);
+                blackhole.consume(row);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.saumajit.tprm.grc.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// A model, not a measurement of the upload path: MinIO and Postgres are stood in for by semaphores sized like
+// grc.storage.max-concurrent-uploads and the Hikari pool, each held for a fixed sleep. It shows how long a burst
+// of blocking uploads takes to drain (uploads / score = uploads per ms) on Tomcat's default 200 platform request
+// threads versus virtual threads. Use IngestionLoadTest for numbers from the real code.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class UploadConcurrencyBenchmark {
+
+    // Tomcat's default server.tomcat.threads.max
+    private static final int PLATFORM_REQUEST_THREADS = 200;
+
+    public enum ExecutionMode { PLATFORM, VIRTUAL }
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private ExecutionMode mode;
+
+    @Param({"200", "1000", "5000"})
+    private int concurrentUploads;
+
+    @Param({"256"})
+    private int maxConcurrentUploads;
+
+    @Param({"20"})
+    private int dbPoolSize;
+
+    @Param({"100"})
+    private long putObjectMillis;
+
+    @Param({"2"})
+    private long saveMillis;
+
+    private ExecutorService requestExecutor;
+    private Semaphore storagePermits;
+    private Semaphore dbConnections;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        requestExecutor = mode == ExecutionMode.VIRTUAL
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_REQUEST_THREADS);
+        storagePermits = new Semaphore(maxConcurrentUploads, true);
+        dbConnections = new Semaphore(dbPoolSize, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public void uploadBurst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(concurrentUploads);
+        for (int i = 0; i < concurrentUploads; i++) {
+            requestExecutor.execute(() -> {
+                try {
+                    upload();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    // Same shape as a single-file upload: object storage put, then the metadata and outbox insert
+    private void upload() {
+        try {
+            blockOn(storagePermits, putObjectMillis);
+            blockOn(dbConnections, saveMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void blockOn(Semaphore resource, long millis) throws InterruptedException {
+        resource.acquire();
+        try {
+            Thread.sleep(millis);
+        } finally {
+            resource.release();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.saumajit.tprm.grc.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Per-file work on the evidence upload path that does not touch MinIO
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UploadPathBenchmark {
+
+    @Param({"65536", "10485760"})
+    private int fileSize;
+
+    private MockMultipartFile file;
+    private FileStorageService fileStorageService;
+
+    @Setup
+    public void setUp() {
+        byte[] content = new byte[fileSize];
+        new Random(42).nextBytes(content);
+        file = new MockMultipartFile("file", "SOC 2 Type II (2024) audit-report.final.pdf", "application/pdf", content);
+        // Hashing never reaches the client, so no MinIO connection is needed
+        fileStorageService = new FileStorageService(null, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public String calculateFileHash() {
+        return fileStorageService.calculateFileHash(file);
+    }
+
+    @Benchmark
+    public String generateUniqueFileName() {
+        return EvidenceProcessingService.generateUniqueFileName(file.getOriginalFilename());
+    }
+}
@@ -0,0 +1,16 @@
+package com.saumajit.tprm.grc.config;
+
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.LoggingCacheErrorHandler;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig implements CachingConfigurer {
+
+    // A Redis outage degrades cached lookups to plain database reads instead of failing the request
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new LoggingCacheErrorHandler();
+    }
+}
@@ -0,0 +1,69 @@
+package com.saumajit.tprm.grc.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saumajit.tprm.grc.dto.EvidenceProcessingEvent;
+import com.saumajit.tprm.grc.model.EvidenceUpload;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+public class EvidenceEventDeserializer implements Deserializer<EvidenceProcessingEvent> {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    // Detects the encoding per record, so producers can switch encodings without draining the topic
+    @Override
+    public EvidenceProcessingEvent deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        try {
+            EvidenceProcessingEvent event = data[0] == EvidenceEventSerializer.BINARY_MAGIC
+                    ? fromBinary(data)
+                    : objectMapper.readValue(data, EvidenceProcessingEvent.class);
+            // A newer producer may have changed what the fields mean, so it is rejected rather than guessed at
+            if (event.getVersion() > EvidenceProcessingEvent.CURRENT_VERSION) {
+                throw new IOException("Unsupported evidence event version: " + event.getVersion());
+            }
+            return event;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new SerializationException("Failed to deserialize evidence event from topic " + topic, e);
+        }
+    }
+
+    private EvidenceProcessingEvent fromBinary(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            in.readByte();
+            int version = in.readUnsignedByte();
+            // Checked before reading on, since a newer layout may not parse at all
+            if (version > EvidenceProcessingEvent.CURRENT_VERSION) {
+                throw new IOException("Unsupported evidence event version: " + version);
+            }
+
+            EvidenceProcessingEvent event = new EvidenceProcessingEvent();
+            event.setVersion(version);
+            event.setEvidenceId(readLong(in));
+            event.setBatchId(readString(in));
+            event.setFilePath(readString(in));
+            event.setFileSize(readLong(in));
+            event.setContentType(readString(in));
+            String evidenceType = readString(in);
+            event.setEvidenceType(evidenceType != null ? EvidenceUpload.EvidenceType.valueOf(evidenceType) : null);
+            event.setUploadedById(readLong(in));
+            return event;
+        }
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
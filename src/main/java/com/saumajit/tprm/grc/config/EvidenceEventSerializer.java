@@ -0,0 +1,69 @@
+package com.saumajit.tprm.grc.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saumajit.tprm.grc.dto.EvidenceProcessingEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+public class EvidenceEventSerializer implements Serializer<EvidenceProcessingEvent> {
+
+    // JSON payloads always start with '{', so a leading 0x01 unambiguously marks the binary layout
+    static final byte BINARY_MAGIC = 0x01;
+
+    public enum Encoding {
+        JSON, BINARY
+    }
+
+    private final Encoding encoding;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public EvidenceEventSerializer(Encoding encoding) {
+        this.encoding = encoding;
+    }
+
+    @Override
+    public byte[] serialize(String topic, EvidenceProcessingEvent event) {
+        if (event == null) {
+            return null;
+        }
+        try {
+            return encoding == Encoding.BINARY ? toBinary(event) : objectMapper.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new SerializationException("Failed to serialize evidence event " + event.getEvidenceId(), e);
+        }
+    }
+
+    private byte[] toBinary(EvidenceProcessingEvent event) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(BINARY_MAGIC);
+            out.writeByte(event.getVersion());
+            writeLong(out, event.getEvidenceId());
+            writeString(out, event.getBatchId());
+            writeString(out, event.getFilePath());
+            writeLong(out, event.getFileSize());
+            writeString(out, event.getContentType());
+            writeString(out, event.getEvidenceType() != null ? event.getEvidenceType().name() : null);
+            writeLong(out, event.getUploadedById());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.saumajit.tprm.grc.config;
 
+import com.saumajit.tprm.grc.service.AuthenticatedUser;
 import com.saumajit.tprm.grc.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,13 +11,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -32,13 +34,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.extractUsername(jwt);
-                UserDetails userDetails = userService.loadUserByUsername(username);
+            // One signature check per request; claims come back with the verification
+            Optional<Claims> claims = StringUtils.hasText(jwt) ? jwtUtil.verifyAndExtract(jwt) : Optional.empty();
 
-                if (userDetails != null) {
+            if (claims.isPresent()) {
+                String username = claims.get().getSubject();
+                AuthenticatedUser principal = userService.loadPrincipal(username);
+
+                if (principal != null && principal.enabled()) {
                     UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                            new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
@@ -1,16 +1,26 @@
 package com.saumajit.tprm.grc.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Component
@@ -23,8 +33,52 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Value("${grc.auth.token-cache.enabled:true}")
+    private boolean tokenCacheEnabled;
+
+    @Value("${grc.auth.token-cache.ttl:1m}")
+    private Duration tokenCacheTtl;
+
+    @Value("${grc.auth.token-cache.max-size:10000}")
+    private long tokenCacheMaxSize;
+
+    // Built once on first use; a secret that is too short keeps failing per call, as it did before
+    private final SingletonSupplier<SecretKey> signingKey =
+            SingletonSupplier.of(() -> Keys.hmacShaKeyFor(secret.getBytes()));
+
+    private final SingletonSupplier<JwtParser> parser =
+            SingletonSupplier.of(() -> Jwts.parser().verifyWith(signingKey.obtain()).build());
+
+    // Verified claims keyed by the token's SHA-256, so a hot token skips signature checks
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    void initTokenCache() {
+        if (tokenCacheEnabled) {
+            verifiedTokens = Caffeine.newBuilder()
+                    .expireAfterWrite(tokenCacheTtl)
+                    .maximumSize(tokenCacheMaxSize)
+                    .build();
+        }
+    }
+
+    // Single verify-and-extract entry point for request authentication
+    public Optional<Claims> verifyAndExtract(String token) {
+        try {
+            if (verifiedTokens == null) {
+                return Optional.of(extractAllClaims(token));
+            }
+            Claims claims = verifiedTokens.get(sha256(token), key -> extractAllClaims(token));
+            // Cached entries can outlive the token itself
+            if (claims.getExpiration() != null && claims.getExpiration().before(new Date())) {
+                verifiedTokens.invalidate(sha256(token));
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("JWT validation failed: {}", e.getMessage());
+            return Optional.empty();
+        }
     }
 
     public String extractUsername(String token) {
@@ -41,9 +95,7 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return parser.obtain()
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -63,14 +115,14 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), Jwts.SIG.HS256)
+                .signWith(signingKey.obtain(), Jwts.SIG.HS256)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            final Claims claims = extractAllClaims(token);
+            return (claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date()));
         } catch (JwtException | IllegalArgumentException e) {
             log.error("JWT validation failed: {}", e.getMessage());
             return false;
@@ -78,15 +130,15 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token) {
+        return verifyAndExtract(token).isPresent();
+    }
+
+    private static String sha256(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            log.error("JWT validation failed: {}", e.getMessage());
-            return false;
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 }
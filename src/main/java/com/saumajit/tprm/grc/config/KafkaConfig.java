@@ -0,0 +1,206 @@
+package com.saumajit.tprm.grc.config;
+
+import com.saumajit.tprm.grc.dto.EvidenceProcessingEvent;
+import com.saumajit.tprm.grc.dto.ThirdPartyImportChunk;
+import com.saumajit.tprm.grc.service.EvidenceEventPublisher;
+import com.saumajit.tprm.grc.service.EvidenceProcessingService;
+import com.saumajit.tprm.grc.service.EvidenceProcessingWorker;
+import com.saumajit.tprm.grc.service.ThirdPartyService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.core.MicrometerProducerListener;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Configuration
+@ConditionalOnProperty(name = "spring.kafka.bootstrap-servers")
+public class KafkaConfig {
+
+    @Value("${grc.import.partitions:12}")
+    private int importPartitions;
+
+    @Value("${grc.evidence.partitions:12}")
+    private int evidencePartitions;
+
+    @Value("${grc.evidence.worker.concurrency:4}")
+    private int evidenceWorkerConcurrency;
+
+    @Value("${grc.evidence.worker.max-poll-records:10}")
+    private int evidenceMaxPollRecords;
+
+    @Value("${grc.evidence.worker.virtual-threads:true}")
+    private boolean evidenceVirtualThreads;
+
+    @Value("${grc.evidence.event-encoding:JSON}")
+    private EvidenceEventSerializer.Encoding evidenceEventEncoding;
+
+    @Value("${grc.evidence.retry.max-retries:3}")
+    private int evidenceMaxRetries;
+
+    @Value("${grc.evidence.retry.initial-interval:1000}")
+    private long evidenceRetryInitialInterval;
+
+    @Value("${grc.evidence.retry.multiplier:2.0}")
+    private double evidenceRetryMultiplier;
+
+    @Value("${grc.evidence.retry.max-interval:30000}")
+    private long evidenceRetryMaxInterval;
+
+    @Value("${grc.import.retry.max-retries:4}")
+    private int importMaxRetries;
+
+    @Value("${grc.import.retry.initial-interval:1000}")
+    private long importRetryInitialInterval;
+
+    @Value("${grc.import.retry.multiplier:2.0}")
+    private double importRetryMultiplier;
+
+    @Value("${grc.import.retry.max-interval:30000}")
+    private long importRetryMaxInterval;
+
+    @Bean
+    public NewTopic bulkImportChunksTopic() {
+        // Chunks are keyed by job and chunk index so they spread across every partition
+        return TopicBuilder.name("tprm-bulk-import-chunks")
+                .partitions(importPartitions)
+                .build();
+    }
+
+    @Bean
+    public NewTopic evidenceProcessingTopic() {
+        return TopicBuilder.name(EvidenceEventPublisher.TOPIC)
+                .partitions(evidencePartitions)
+                .build();
+    }
+
+    @Bean
+    public NewTopic evidenceProcessingDeadLetterTopic() {
+        // The dead-letter recoverer publishes to the same partition number, so partition counts must match
+        return TopicBuilder.name("evidence-processing.DLT")
+                .partitions(evidencePartitions)
+                .build();
+    }
+
+    @Bean
+    public NewTopic evidenceReviewedTopic() {
+        // Keyed by batch or reviewer, so one reviewer's decisions stay in order
+        return TopicBuilder.name(EvidenceProcessingService.REVIEW_TOPIC)
+                .partitions(evidencePartitions)
+                .build();
+    }
+
+    @Bean
+    public EvidenceEventPublisher evidenceEventPublisher(ProducerFactory<?, ?> producerFactory, MeterRegistry meterRegistry) {
+        // Reuses the Boot producer settings but swaps in the compact evidence event serializer
+        DefaultKafkaProducerFactory<String, EvidenceProcessingEvent> evidenceProducerFactory = new DefaultKafkaProducerFactory<>(
+                producerFactory.getConfigurationProperties(),
+                new StringSerializer(),
+                new EvidenceEventSerializer(evidenceEventEncoding));
+        // Boot only instruments the factories it creates itself
+        evidenceProducerFactory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return new EvidenceEventPublisher(new KafkaTemplate<>(evidenceProducerFactory));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, EvidenceProcessingEvent> evidenceListenerContainerFactory(
+            ConsumerFactory<?, ?> consumerFactory,
+            ProducerFactory<?, ?> producerFactory,
+            EvidenceEventPublisher evidenceEventPublisher,
+            EvidenceProcessingWorker evidenceProcessingWorker,
+            MeterRegistry meterRegistry) {
+
+        // Each worker handles one record at a time, so in-flight work is capped at concurrency * max.poll.records
+        Map<String, Object> consumerProperties = new HashMap<>(consumerFactory.getConfigurationProperties());
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, evidenceMaxPollRecords);
+
+        ConcurrentKafkaListenerContainerFactory<String, EvidenceProcessingEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        // A record that cannot be deserialized reaches the error handler instead of failing every poll
+        DefaultKafkaConsumerFactory<String, EvidenceProcessingEvent> evidenceConsumerFactory = new DefaultKafkaConsumerFactory<>(
+                consumerProperties, new StringDeserializer(), new ErrorHandlingDeserializer<>(new EvidenceEventDeserializer()));
+        // Publishes the client metrics, including kafka.consumer.fetch.manager.records.lag per partition
+        evidenceConsumerFactory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        factory.setConsumerFactory(evidenceConsumerFactory);
+        factory.setConcurrency(evidenceWorkerConcurrency);
+
+        SimpleAsyncTaskExecutor workerExecutor = new SimpleAsyncTaskExecutor("evidence-worker-");
+        workerExecutor.setVirtualThreads(evidenceVirtualThreads);
+        factory.getContainerProperties().setListenerTaskExecutor(workerExecutor);
+
+        // Records that failed deserialization are dead-lettered as their original bytes
+        Map<Class<?>, KafkaOperations<?, ?>> deadLetterTemplates = new LinkedHashMap<>();
+        deadLetterTemplates.put(byte[].class, new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                producerFactory.getConfigurationProperties(), new StringSerializer(), new ByteArraySerializer())));
+        deadLetterTemplates.put(EvidenceProcessingEvent.class, evidenceEventPublisher.getKafkaTemplate());
+        DeadLetterPublishingRecoverer deadLetterRecoverer = new DeadLetterPublishingRecoverer(deadLetterTemplates);
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(evidenceMaxRetries);
+        backOff.setInitialInterval(evidenceRetryInitialInterval);
+        backOff.setMultiplier(evidenceRetryMultiplier);
+        backOff.setMaxInterval(evidenceRetryMaxInterval);
+
+        factory.setCommonErrorHandler(new DefaultErrorHandler((record, exception) -> {
+            if (record.value() instanceof EvidenceProcessingEvent event) {
+                evidenceProcessingWorker.markFailed(event, exception);
+            }
+            deadLetterRecoverer.accept(record, exception);
+        }, backOff));
+
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> importListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            ThirdPartyService thirdPartyService) {
+
+        // Boot's defaults, plus retries so a transient database or storage error does not fail a whole chunk or job
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(importMaxRetries);
+        backOff.setInitialInterval(importRetryInitialInterval);
+        backOff.setMultiplier(importRetryMultiplier);
+        backOff.setMaxInterval(importRetryMaxInterval);
+
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler((record, exception) -> {
+            if (record.value() instanceof ThirdPartyImportChunk chunk) {
+                thirdPartyService.recoverFailedChunk(chunk, exception);
+            } else if (record.value() instanceof String jobId) {
+                thirdPartyService.recoverFailedSplit(UUID.fromString(jobId), exception);
+            }
+        }, backOff);
+        // Bad data fails the same way every time
+        errorHandler.addNotRetryableExceptions(DataIntegrityViolationException.class);
+        factory.setCommonErrorHandler(errorHandler);
+
+        return factory;
+    }
+}
@@ -0,0 +1,52 @@
+package com.saumajit.tprm.grc.config;
+
+import com.saumajit.tprm.grc.service.PrincipalCache;
+import com.saumajit.tprm.grc.service.UserChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Fans user changes out to every pod so their local principal caches drop the user too
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "spring.redis.host")
+public class PrincipalCacheRedisRelay implements MessageListener {
+
+    static final String CHANNEL = "grc:principal-invalidation";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final PrincipalCache principalCache;
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, event.userId());
+        } catch (Exception e) {
+            // Other pods fall back to the cache TTL
+            log.warn("Could not broadcast principal invalidation for user {}: {}", event.userId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object userId = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (userId instanceof Number id) {
+            principalCache.evict(id.longValue());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.saumajit.tprm.grc.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saumajit.tprm.grc.dto.ProgressUpdate;
+import com.saumajit.tprm.grc.service.ProgressBus;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Carries progress updates between pods; the payload stays plain JSON since watchers only re-serialize it
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "spring.redis.host")
+public class ProgressRedisRelay implements MessageListener {
+
+    static final String CHANNEL = "grc:progress";
+
+    private static final String WATCHERS_KEY_PREFIX = "grc:progress:watchers:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final ProgressBus progressBus;
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public void broadcast(ProgressUpdate update) throws JsonProcessingException {
+        stringRedisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(update));
+    }
+
+    // One sorted-set member per watcher, scored by when its emitter times out, so a pod that stops
+    // without unwatching only leaves entries that age out
+    public void watch(String channel, String watcherId, Duration timeout) {
+        String key = WATCHERS_KEY_PREFIX + channel;
+        stringRedisTemplate.opsForZSet().add(key, watcherId, System.currentTimeMillis() + timeout.toMillis());
+        stringRedisTemplate.expire(key, timeout);
+    }
+
+    public void unwatch(String channel, String watcherId) {
+        stringRedisTemplate.opsForZSet().remove(WATCHERS_KEY_PREFIX + channel, watcherId);
+    }
+
+    public boolean hasWatchers(String channel) {
+        Long live = stringRedisTemplate.opsForZSet().count(WATCHERS_KEY_PREFIX + channel,
+                System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+        return live != null && live > 0;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            progressBus.deliver(objectMapper.readValue(message.getBody(), ProgressUpdate.class));
+        } catch (Exception e) {
+            log.warn("Dropping malformed progress message: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.saumajit.tprm.grc.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Whether pg_trgm is installed. V10 creates it, but it can be dropped or live in a schema outside the search path,
+// so vendor search checks here instead of failing every request on similarity().
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrigramSupport {
+
+    private static final String TRIGRAM_EXTENSION_SQL = "SELECT count(*) FROM pg_extension WHERE extname = 'pg_trgm'";
+
+    // JdbcTemplate is only created after Flyway has migrated, so the check sees V10
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean available;
+
+    @PostConstruct
+    void detect() {
+        try {
+            Integer installed = jdbcTemplate.queryForObject(TRIGRAM_EXTENSION_SQL, Integer.class);
+            available = installed != null && installed > 0;
+        } catch (Exception e) {
+            log.warn("Could not check for pg_trgm: {}", e.getMessage());
+        }
+        if (!available) {
+            log.warn("pg_trgm extension is not installed; vendor search falls back to unindexed substring matching. " +
+                    "Run CREATE EXTENSION pg_trgm and restart to enable similarity search");
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+}
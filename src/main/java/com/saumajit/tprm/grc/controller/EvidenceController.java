@@ -1,19 +1,39 @@
 package com.saumajit.tprm.grc.controller;
 
+import com.saumajit.tprm.grc.dto.BatchStatusResponse;
+import com.saumajit.tprm.grc.dto.BulkReviewRequest;
+import com.saumajit.tprm.grc.dto.BulkReviewResponse;
+import com.saumajit.tprm.grc.dto.CursorPage;
+import com.saumajit.tprm.grc.dto.ErrorResponse;
+import com.saumajit.tprm.grc.dto.EvidenceCategoryDTO;
 import com.saumajit.tprm.grc.dto.EvidenceBatchUploadResponse;
 import com.saumajit.tprm.grc.dto.EvidenceUploadResponse;
+import com.saumajit.tprm.grc.dto.EvidenceUploadSummary;
 import com.saumajit.tprm.grc.dto.MultipleEvidenceUploadRequest;
 import com.saumajit.tprm.grc.model.EvidenceUpload;
-import com.saumajit.tprm.grc.model.User;
+import com.saumajit.tprm.grc.service.AuthenticatedUser;
+import com.saumajit.tprm.grc.service.EvidenceCategoryService;
 import com.saumajit.tprm.grc.service.EvidenceProcessingService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,6 +44,16 @@ import java.util.UUID;
 public class EvidenceController {
 
     private final EvidenceProcessingService evidenceProcessingService;
+    private final EvidenceCategoryService evidenceCategoryService;
+
+    // Enum lookups only change with a deploy, so their ETags are fixed per build
+    private static final String EVIDENCE_TYPES_ETAG = etagOf(Arrays.toString(EvidenceUpload.EvidenceType.values()));
+    private static final String POLICY_TYPES_ETAG = etagOf(Arrays.toString(EvidenceUpload.PolicyType.values()));
+    private static final CacheControl ENUM_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(1));
+    private static final CacheControl CATEGORY_CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5));
+
+    @Value("${grc.evidence.upload.max-stream-size:1GB}")
+    private DataSize maxStreamSize;
 
     @PostMapping("/upload")
     public ResponseEntity<EvidenceUploadResponse> uploadEvidence(
@@ -37,7 +67,7 @@ public class EvidenceController {
             Authentication authentication) {
 
         try {
-            User user = (User) authentication.getPrincipal();
+            AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
             UUID batchId = evidenceProcessingService.processEvidenceUpload(
                 file, categoryId, evidenceType, description, tags, 
                 questionnaireId, questionId, user
@@ -62,6 +92,56 @@ public class EvidenceController {
         }
     }
 
+    // Raw request body instead of multipart, so large files are never spooled to local disk first
+    @PostMapping("/upload/stream")
+    public ResponseEntity<EvidenceUploadResponse> uploadEvidenceStream(
+            @RequestHeader("X-File-Name") String encodedFileName,
+            @RequestParam(value = "evidenceType") EvidenceUpload.EvidenceType evidenceType,
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "tags", required = false) String tags,
+            @RequestParam(value = "questionnaireId", required = false) Long questionnaireId,
+            @RequestParam(value = "questionId", required = false) Long questionId,
+            HttpServletRequest request,
+            Authentication authentication) {
+
+        // Rejected up front when the length is declared; chunked bodies (-1) are cut off while reading instead
+        long size = request.getContentLengthLong();
+        if (size > maxStreamSize.toBytes()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(new EvidenceUploadResponse(null, "FAILED", "File size exceeds maximum allowed limit"));
+        }
+
+        try {
+            AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+            String fileName = URLDecoder.decode(encodedFileName, StandardCharsets.UTF_8);
+            String contentType = request.getContentType() != null
+                    ? request.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+
+            UUID batchId = evidenceProcessingService.processEvidenceStreamUpload(
+                new SizeLimitedInputStream(request.getInputStream(), maxStreamSize.toBytes()),
+                fileName, contentType, size, evidenceType,
+                description, tags, questionnaireId, questionId, user
+            );
+
+            return ResponseEntity.accepted()
+                    .body(new EvidenceUploadResponse(batchId, "PROCESSING", "Evidence upload started successfully"));
+
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid evidence stream upload request: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new EvidenceUploadResponse(null, "FAILED", e.getMessage()));
+        } catch (Exception e) {
+            if (SizeLimitedInputStream.isCause(e)) {
+                log.error("Evidence stream upload exceeded {}: {}", maxStreamSize, e.getMessage());
+                return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                        .body(new EvidenceUploadResponse(null, "FAILED", "File size exceeds maximum allowed limit"));
+            }
+            log.error("Server error during evidence stream upload: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(new EvidenceUploadResponse(null, "FAILED", "Internal error"));
+        }
+    }
+
     @PostMapping("/upload/multiple")
     public ResponseEntity<EvidenceBatchUploadResponse> uploadMultipleEvidence(
             @RequestParam("files") MultipartFile[] files,
@@ -69,7 +149,7 @@ public class EvidenceController {
             Authentication authentication) {
 
         try {
-            User user = (User) authentication.getPrincipal();
+            AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
             EvidenceBatchUploadResponse response = evidenceProcessingService.processMultipleEvidenceUpload(
                 files, request, user
             );
@@ -102,21 +182,85 @@ public class EvidenceController {
         }
     }
 
+    // Keyset-paged summaries; /batch-status/{batchId} keeps returning the full entity list for existing clients
+    @GetMapping("/batch/{batchId}/evidence")
+    public ResponseEntity<CursorPage<EvidenceUploadSummary>> getBatchEvidence(
+            @PathVariable String batchId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(evidenceProcessingService.getEvidenceByBatchId(batchId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid batch evidence request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error getting batch evidence: {}", e.getMessage(), e);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Cheap summary for pollers: one grouped count query, no rows loaded
+    @GetMapping("/batch/{batchId}/status")
+    public ResponseEntity<BatchStatusResponse> getBatchStatusSummary(@PathVariable String batchId) {
+        try {
+            return ResponseEntity.ok(evidenceProcessingService.getBatchStatus(batchId));
+        } catch (IllegalArgumentException e) {
+            log.error("Evidence batch not found: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            log.error("Error getting evidence batch status: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    @GetMapping(value = "/batch/{batchId}/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamBatchStatus(@PathVariable String batchId) {
+        try {
+            return ResponseEntity.ok(evidenceProcessingService.streamBatchStatus(batchId));
+        } catch (IllegalArgumentException e) {
+            log.error("Evidence batch not found: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            log.error("Error streaming evidence batch status: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    // ResponseEntity with an ETag answers If-None-Match with 304 and no body
     @GetMapping("/types")
     public ResponseEntity<EvidenceUpload.EvidenceType[]> getEvidenceTypes() {
-        return ResponseEntity.ok(EvidenceUpload.EvidenceType.values());
+        return ResponseEntity.ok()
+                .eTag(EVIDENCE_TYPES_ETAG)
+                .cacheControl(ENUM_CACHE_CONTROL)
+                .body(EvidenceUpload.EvidenceType.values());
     }
 
     @GetMapping("/policy-types")
     public ResponseEntity<EvidenceUpload.PolicyType[]> getPolicyTypes() {
-        return ResponseEntity.ok(EvidenceUpload.PolicyType.values());
+        return ResponseEntity.ok()
+                .eTag(POLICY_TYPES_ETAG)
+                .cacheControl(ENUM_CACHE_CONTROL)
+                .body(EvidenceUpload.PolicyType.values());
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<EvidenceCategoryDTO>> getCategories() {
+        List<EvidenceCategoryDTO> categories = evidenceCategoryService.getAllCategories();
+        return ResponseEntity.ok()
+                .eTag(etagOf(categories.toString()))
+                .cacheControl(CATEGORY_CACHE_CONTROL)
+                .body(categories);
+    }
+
+    private static String etagOf(String content) {
+        return "\"" + DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8)) + "\"";
     }
 
     @GetMapping("/my-uploads")
     public ResponseEntity<List<EvidenceUpload>> getMyUploads(Authentication authentication) {
         try {
-            User user = (User) authentication.getPrincipal();
-            List<EvidenceUpload> uploads = evidenceProcessingService.getEvidenceByUser(user.getId());
+            AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+            List<EvidenceUpload> uploads = evidenceProcessingService.getEvidenceByUser(user.id());
             return ResponseEntity.ok(uploads);
         } catch (Exception e) {
             log.error("Error getting user uploads: {}", e.getMessage(), e);
@@ -124,10 +268,28 @@ public class EvidenceController {
         }
     }
 
+    // Keyset-paged summaries; /my-uploads keeps returning the full entity list for existing clients
+    @GetMapping("/my-uploads/page")
+    public ResponseEntity<CursorPage<EvidenceUploadSummary>> getMyUploadsPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "50") int limit,
+            Authentication authentication) {
+        try {
+            AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+            return ResponseEntity.ok(evidenceProcessingService.getEvidenceByUser(user.id(), cursor, limit));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid uploads listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error getting user uploads: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
     @PutMapping("/{id}/approve")
     public ResponseEntity<String> approveEvidence(@PathVariable Long id, Authentication authentication) {
         try {
-            User user = (User) authentication.getPrincipal();
+            AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
             evidenceProcessingService.approveEvidence(id, user);
             return ResponseEntity.ok("Evidence approved successfully");
         } catch (Exception e) {
@@ -142,7 +304,7 @@ public class EvidenceController {
             @RequestParam String reason,
             Authentication authentication) {
         try {
-            User user = (User) authentication.getPrincipal();
+            AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
             evidenceProcessingService.rejectEvidence(id, reason, user);
             return ResponseEntity.ok("Evidence rejected successfully");
         } catch (Exception e) {
@@ -150,4 +312,22 @@ public class EvidenceController {
             return ResponseEntity.status(500).body("Failed to reject evidence");
         }
     }
+
+    // Approves or rejects a set of IDs or a whole batch in one statement, with an outcome per ID
+    @PostMapping("/review")
+    public ResponseEntity<?> reviewEvidence(
+            @Valid @RequestBody BulkReviewRequest request,
+            Authentication authentication) {
+        try {
+            AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+            BulkReviewResponse response = evidenceProcessingService.reviewEvidence(request, user);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid bulk review request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ErrorResponse("INVALID_REVIEW", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error reviewing evidence: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body(new ErrorResponse("INTERNAL_ERROR", "Failed to review evidence"));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.saumajit.tprm.grc.controller;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Fails the read once more than maxBytes have come through, so chunked bodies without a
+// Content-Length are held to the same limit as bodies that declare one
+class SizeLimitedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private long count;
+
+    SizeLimitedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            advance(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            advance(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        advance(skipped);
+        return skipped;
+    }
+
+    // Marking would let the reader rewind past bytes already counted
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void advance(long n) throws SizeLimitExceededException {
+        count += n;
+        if (count > maxBytes) {
+            throw new SizeLimitExceededException(maxBytes);
+        }
+    }
+
+    static boolean isCause(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SizeLimitExceededException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static class SizeLimitExceededException extends IOException {
+
+        SizeLimitExceededException(long maxBytes) {
+            super("Request body exceeds " + maxBytes + " bytes");
+        }
+    }
+}
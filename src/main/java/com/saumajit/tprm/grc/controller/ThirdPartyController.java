@@ -5,9 +5,11 @@ import com.saumajit.tprm.grc.model.ThirdParty;
 import com.saumajit.tprm.grc.service.ThirdPartyService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -60,11 +62,24 @@ public class ThirdPartyController {
         }
     }
 
+    // Pushes the job as it changes instead of clients polling import-status
+    @GetMapping(value = "/import-status/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamImportStatus(@PathVariable UUID jobId) {
+        try {
+            return ResponseEntity.ok(thirdPartyService.streamImportStatus(jobId));
+        } catch (Exception e) {
+            log.error("Error streaming import status: {}", e.getMessage(), e);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping("/search")
     public ResponseEntity<List<ThirdParty>> searchThirdParties(
-            @RequestParam String query) {
+            @RequestParam String query,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
 
-        List<ThirdParty> results = thirdPartyService.searchThirdParties(query);
+        List<ThirdParty> results = thirdPartyService.searchThirdParties(query, page, size);
         return ResponseEntity.ok(results);
     }
 
@@ -0,0 +1,22 @@
+package com.saumajit.tprm.grc.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkReviewRequest {
+
+    public enum Action { APPROVE, REJECT }
+
+    @NotNull(message = "Action is required")
+    private Action action;
+
+    // Either a set of evidence IDs or a whole batch
+    private List<Long> evidenceIds;
+
+    private String batchId;
+
+    private String reason;
+}
@@ -0,0 +1,25 @@
+package com.saumajit.tprm.grc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkReviewResponse {
+
+    public enum Outcome { UPDATED, NOT_REVIEWABLE, NOT_FOUND }
+
+    private BulkReviewRequest.Action action;
+    private int updated;
+    private int skipped;
+    private List<Result> results;
+
+    @Data
+    @AllArgsConstructor
+    public static class Result {
+        private Long evidenceId;
+        private Outcome outcome;
+    }
+}
@@ -0,0 +1,17 @@
+package com.saumajit.tprm.grc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+    // Opaque cursor for the next page; null once the listing is exhausted
+    private String nextCursor;
+}
@@ -0,0 +1,31 @@
+package com.saumajit.tprm.grc.dto;
+
+import com.saumajit.tprm.grc.model.EvidenceCategory;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+// Detached copy of a category; Serializable because it lives in the Redis cache
+@Data
+@NoArgsConstructor
+public class EvidenceCategoryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+    private String name;
+    private String description;
+    private List<String> keywords;
+    private Boolean autoCategorize;
+
+    public EvidenceCategoryDTO(EvidenceCategory category) {
+        this.id = category.getId();
+        this.name = category.getName();
+        this.description = category.getDescription();
+        this.keywords = category.getKeywords() != null ? new ArrayList<>(category.getKeywords()) : new ArrayList<>();
+        this.autoCategorize = category.getAutoCategorize();
+    }
+}
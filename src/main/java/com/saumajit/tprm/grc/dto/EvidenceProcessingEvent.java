@@ -0,0 +1,38 @@
+package com.saumajit.tprm.grc.dto;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.saumajit.tprm.grc.model.EvidenceUpload;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvidenceProcessingEvent {
+
+    public static final int CURRENT_VERSION = 1;
+
+    private int version = CURRENT_VERSION;
+
+    // Accepts "id" so messages published as full entities before this event existed still resolve
+    @JsonAlias("id")
+    private Long evidenceId;
+
+    private String batchId;
+    private String filePath;
+    private Long fileSize;
+    private String contentType;
+    private EvidenceUpload.EvidenceType evidenceType;
+    private Long uploadedById;
+
+    public EvidenceProcessingEvent(EvidenceUpload evidence) {
+        this.evidenceId = evidence.getId();
+        this.batchId = evidence.getBatchId();
+        this.filePath = evidence.getFilePath();
+        this.fileSize = evidence.getFileSize();
+        this.contentType = evidence.getContentType();
+        this.evidenceType = evidence.getEvidenceType();
+        this.uploadedById = evidence.getUploadedBy() != null ? evidence.getUploadedBy().getId() : null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.saumajit.tprm.grc.dto;
+
+import com.saumajit.tprm.grc.model.EvidenceUpload;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One event per review call, however many evidence rows it changed
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvidenceReviewedEvent {
+
+    private EvidenceUpload.ProcessingStatus status;
+    private String batchId;
+    private List<Long> evidenceIds;
+    private Long reviewedById;
+    private String reviewedBy;
+    private String reason;
+    private LocalDateTime reviewedAt;
+}
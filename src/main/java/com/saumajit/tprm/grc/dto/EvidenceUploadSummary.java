@@ -0,0 +1,43 @@
+package com.saumajit.tprm.grc.dto;
+
+import com.saumajit.tprm.grc.model.EvidenceUpload;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Flat listing row; selected with a JPQL constructor expression so no lazy associations are touched
+@Data
+@NoArgsConstructor
+public class EvidenceUploadSummary {
+
+    private Long id;
+    private String batchId;
+    private String originalFileName;
+    private Long fileSize;
+    private String contentType;
+    private EvidenceUpload.ProcessingStatus status;
+    private EvidenceUpload.EvidenceType evidenceType;
+    private Long questionnaireId;
+    private Long questionId;
+    private LocalDateTime createdAt;
+    private List<EvidenceUpload.PolicyType> applicablePolicies = new ArrayList<>();
+
+    public EvidenceUploadSummary(Long id, String batchId, String originalFileName, Long fileSize,
+                                 String contentType, EvidenceUpload.ProcessingStatus status,
+                                 EvidenceUpload.EvidenceType evidenceType, Long questionnaireId,
+                                 Long questionId, LocalDateTime createdAt) {
+        this.id = id;
+        this.batchId = batchId;
+        this.originalFileName = originalFileName;
+        this.fileSize = fileSize;
+        this.contentType = contentType;
+        this.status = status;
+        this.evidenceType = evidenceType;
+        this.questionnaireId = questionnaireId;
+        this.questionId = questionId;
+        this.createdAt = createdAt;
+    }
+}
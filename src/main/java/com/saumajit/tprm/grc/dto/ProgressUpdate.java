@@ -0,0 +1,19 @@
+package com.saumajit.tprm.grc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressUpdate {
+
+    private String channel;
+    // Same body the matching status endpoint returns
+    private Object payload;
+    // Terminal state: watchers are completed after receiving it
+    private boolean last;
+    // Never decreases for a channel; an update older than the last one sent is dropped
+    private long sequence;
+}
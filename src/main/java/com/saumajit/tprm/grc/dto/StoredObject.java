@@ -0,0 +1,14 @@
+package com.saumajit.tprm.grc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class StoredObject {
+
+    private String path;
+    // Hex SHA-256 of the bytes written, computed while they streamed to object storage
+    private String contentHash;
+    private long size;
+}
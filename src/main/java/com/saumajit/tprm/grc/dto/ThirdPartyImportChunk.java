@@ -0,0 +1,19 @@
+package com.saumajit.tprm.grc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThirdPartyImportChunk {
+
+    private UUID jobId;
+    private int chunkIndex;
+    private List<ThirdPartyImportDTO> rows;
+    private int rejectedRows;
+}
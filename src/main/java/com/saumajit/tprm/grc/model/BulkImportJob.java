@@ -25,6 +25,9 @@ public class BulkImportJob {
     @Column(name = "file_name")
     private String fileName;
 
+    @Column(name = "source_file_path")
+    private String sourceFilePath;
+
     @Column(name = "total_records")
     private Integer totalRecords;
 
@@ -37,6 +40,22 @@ public class BulkImportJob {
     @Column(name = "failed_records")
     private Integer failedRecords = 0;
 
+    // Included in failedRecords
+    @Column(name = "domain_collision_records", nullable = false)
+    private Integer domainCollisionRecords = 0;
+
+    @Column(name = "total_chunks")
+    private Integer totalChunks;
+
+    @Column(name = "completed_chunks")
+    private Integer completedChunks = 0;
+
+    @Column(name = "split_chunks", nullable = false)
+    private Integer splitChunks = 0;
+
+    @Column(name = "processing_started_at")
+    private LocalDateTime processingStartedAt;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private JobStatus status = JobStatus.PENDING;
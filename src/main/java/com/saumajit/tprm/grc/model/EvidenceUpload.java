@@ -1,5 +1,6 @@
 package com.saumajit.tprm.grc.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -37,6 +38,10 @@ public class EvidenceUpload {
     @Column(name = "content_type")
     private String contentType;
 
+    // SHA-256 of the stored bytes; identical uploads share one object
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private ProcessingStatus status = ProcessingStatus.PENDING;
@@ -65,6 +70,10 @@ public class EvidenceUpload {
     @Column(name = "question_id")
     private Long questionId;
 
+    // Set by the worker's claim; a PROCESSING row with an old claim was left behind by a worker that stopped
+    @Column(name = "processing_started_at")
+    private LocalDateTime processingStartedAt;
+
     @Column(name = "processing_notes", columnDefinition = "TEXT")
     private String processingNotes;
 
@@ -74,6 +83,11 @@ public class EvidenceUpload {
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
+    // Capped plain text of the document, used for search and auto-categorization
+    @Column(name = "extracted_text", columnDefinition = "TEXT")
+    @JsonIgnore
+    private String extractedText;
+
     @CreationTimestamp
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -1,5 +1,6 @@
 package com.saumajit.tprm.grc.model;
 
+import com.saumajit.tprm.grc.service.UserChangeListener;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,6 +16,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserChangeListener.class)
 @Data
 @NoArgsConstructor
 public class User implements UserDetails {
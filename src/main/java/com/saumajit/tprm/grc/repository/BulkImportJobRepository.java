@@ -2,8 +2,14 @@ package com.saumajit.tprm.grc.repository;
 
 import com.saumajit.tprm.grc.model.BulkImportJob;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +17,75 @@ import java.util.UUID;
 public interface BulkImportJobRepository extends JpaRepository<BulkImportJob, Long> {
 
     Optional<BulkImportJob> findByJobId(UUID jobId);
-}
\ No newline at end of file
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BulkImportJob j SET j.status = :to WHERE j.jobId = :jobId AND j.status = :from")
+    int transitionStatus(@Param("jobId") UUID jobId,
+                         @Param("from") BulkImportJob.JobStatus from,
+                         @Param("to") BulkImportJob.JobStatus to);
+
+    // Takes a pending job, or a split whose lease ran out before it finished
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE bulk_import_jobs SET status = 'PROCESSING', processing_started_at = now() " +
+                   "WHERE job_id = :jobId AND (status = 'PENDING' OR (status = 'PROCESSING' AND total_chunks IS NULL " +
+                   "AND (processing_started_at IS NULL OR processing_started_at < now() - make_interval(secs => :leaseSeconds))))",
+           nativeQuery = true)
+    int claimSplit(@Param("jobId") UUID jobId, @Param("leaseSeconds") double leaseSeconds);
+
+    // Joins the caller's transaction; the row locks hold until it commits
+    @Query(value = "SELECT job_id FROM bulk_import_jobs WHERE status = 'PROCESSING' AND total_chunks IS NULL " +
+                   "AND (processing_started_at IS NULL OR processing_started_at < now() - make_interval(secs => :leaseSeconds)) " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<UUID> lockStaleSplits(@Param("leaseSeconds") double leaseSeconds, @Param("limit") int limit);
+
+    // Totals are absolute so a resumed split, which re-reads the skipped chunks, does not count them twice
+    @Transactional
+    @Modifying
+    @Query("UPDATE BulkImportJob j SET j.splitChunks = :splitChunks, j.totalRecords = :totalRecords, " +
+           "j.processingStartedAt = CURRENT_TIMESTAMP WHERE j.jobId = :jobId")
+    int recordSplitProgress(@Param("jobId") UUID jobId, @Param("splitChunks") int splitChunks,
+                            @Param("totalRecords") int totalRecords);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BulkImportJob j SET j.processedRecords = j.processedRecords + :processed, " +
+           "j.successfulRecords = j.successfulRecords + :successful, " +
+           "j.failedRecords = j.failedRecords + :failed, " +
+           "j.domainCollisionRecords = j.domainCollisionRecords + :domainCollisions, " +
+           "j.completedChunks = j.completedChunks + 1 WHERE j.jobId = :jobId")
+    int recordChunkProgress(@Param("jobId") UUID jobId, @Param("processed") int processed,
+                            @Param("successful") int successful, @Param("failed") int failed,
+                            @Param("domainCollisions") int domainCollisions);
+
+    // Returns 0 when the chunk was already recorded by an earlier delivery; joins the caller's transaction
+    @Modifying
+    @Query(value = "INSERT INTO bulk_import_chunks (job_id, chunk_index, failed, recorded_at) " +
+                   "VALUES (:jobId, :chunkIndex, :failed, now()) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int claimChunk(@Param("jobId") UUID jobId, @Param("chunkIndex") int chunkIndex, @Param("failed") boolean failed);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BulkImportJob j SET j.totalChunks = :totalChunks WHERE j.jobId = :jobId")
+    int markSplitComplete(@Param("jobId") UUID jobId, @Param("totalChunks") int totalChunks);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BulkImportJob j SET j.status = :completed WHERE j.jobId = :jobId AND j.status = :processing " +
+           "AND j.totalChunks IS NOT NULL AND j.completedChunks >= j.totalChunks")
+    int completeIfAllChunksDone(@Param("jobId") UUID jobId,
+                                @Param("processing") BulkImportJob.JobStatus processing,
+                                @Param("completed") BulkImportJob.JobStatus completed);
+
+    boolean existsByJobIdAndStatus(UUID jobId, BulkImportJob.JobStatus status);
+
+    // Only a job that has not finished splitting; a completed split is left to its chunks
+    @Transactional
+    @Modifying
+    @Query("UPDATE BulkImportJob j SET j.status = :failed, j.errorDetails = :errorDetails " +
+           "WHERE j.jobId = :jobId AND j.totalChunks IS NULL AND j.status IN :splitting")
+    int failSplit(@Param("jobId") UUID jobId, @Param("errorDetails") String errorDetails,
+                  @Param("splitting") Collection<BulkImportJob.JobStatus> splitting,
+                  @Param("failed") BulkImportJob.JobStatus failed);
+}
@@ -1,28 +1,90 @@
 package com.saumajit.tprm.grc.repository;
 
+import com.saumajit.tprm.grc.dto.EvidenceUploadSummary;
 import com.saumajit.tprm.grc.model.EvidenceUpload;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 
-public interface EvidenceUploadRepository extends JpaRepository<EvidenceUpload, Long> {
+public interface EvidenceUploadRepository extends JpaRepository<EvidenceUpload, Long>, EvidenceUploadRepositoryCustom {
 
     List<EvidenceUpload> findByBatchId(String batchId);
 
-    Optional<EvidenceUpload> findByFilePath(String filePath);
+    Optional<EvidenceUpload> findFirstByContentHashAndStatusNotOrderByIdAsc(
+            String contentHash, EvidenceUpload.ProcessingStatus status);
 
     List<EvidenceUpload> findByUploadedByIdOrderByCreatedAtDesc(Long userId);
 
+    // Keyset pages on (created_at, id): newest first for a user's uploads, upload order within a batch
+    @Query("SELECT new com.saumajit.tprm.grc.dto.EvidenceUploadSummary(e.id, e.batchId, e.originalFileName, " +
+           "e.fileSize, e.contentType, e.status, e.evidenceType, e.questionnaireId, e.questionId, e.createdAt) " +
+           "FROM EvidenceUpload e WHERE e.uploadedBy.id = :userId " +
+           "ORDER BY e.createdAt DESC, e.id DESC")
+    List<EvidenceUploadSummary> findUploadSummariesByUser(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT new com.saumajit.tprm.grc.dto.EvidenceUploadSummary(e.id, e.batchId, e.originalFileName, " +
+           "e.fileSize, e.contentType, e.status, e.evidenceType, e.questionnaireId, e.questionId, e.createdAt) " +
+           "FROM EvidenceUpload e WHERE e.uploadedBy.id = :userId " +
+           "AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) " +
+           "ORDER BY e.createdAt DESC, e.id DESC")
+    List<EvidenceUploadSummary> findUploadSummariesByUserBefore(@Param("userId") Long userId,
+                                                               @Param("createdAt") LocalDateTime createdAt,
+                                                               @Param("id") Long id,
+                                                               Pageable pageable);
+
+    @Query("SELECT new com.saumajit.tprm.grc.dto.EvidenceUploadSummary(e.id, e.batchId, e.originalFileName, " +
+           "e.fileSize, e.contentType, e.status, e.evidenceType, e.questionnaireId, e.questionId, e.createdAt) " +
+           "FROM EvidenceUpload e WHERE e.batchId = :batchId " +
+           "ORDER BY e.createdAt, e.id")
+    List<EvidenceUploadSummary> findUploadSummariesByBatch(@Param("batchId") String batchId, Pageable pageable);
+
+    @Query("SELECT new com.saumajit.tprm.grc.dto.EvidenceUploadSummary(e.id, e.batchId, e.originalFileName, " +
+           "e.fileSize, e.contentType, e.status, e.evidenceType, e.questionnaireId, e.questionId, e.createdAt) " +
+           "FROM EvidenceUpload e WHERE e.batchId = :batchId " +
+           "AND (e.createdAt > :createdAt OR (e.createdAt = :createdAt AND e.id > :id)) " +
+           "ORDER BY e.createdAt, e.id")
+    List<EvidenceUploadSummary> findUploadSummariesByBatchAfter(@Param("batchId") String batchId,
+                                                               @Param("createdAt") LocalDateTime createdAt,
+                                                               @Param("id") Long id,
+                                                               Pageable pageable);
+
+    // Policies for a whole page in one query instead of one collection load per row
+    @Query("SELECT e.id, p FROM EvidenceUpload e JOIN e.applicablePolicies p WHERE e.id IN :ids")
+    List<Object[]> findPoliciesByEvidenceIds(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT e FROM EvidenceUpload e WHERE e.status = :status")
     List<EvidenceUpload> findByStatus(@Param("status") EvidenceUpload.ProcessingStatus status);
 
     @Query("SELECT COUNT(e) FROM EvidenceUpload e WHERE e.batchId = :batchId AND e.status = :status")
     Long countByBatchIdAndStatus(@Param("batchId") String batchId,
                                  @Param("status") EvidenceUpload.ProcessingStatus status);
-}
\ No newline at end of file
+
+    // All per-status counts of a batch in one grouped query
+    @Query("SELECT e.status, COUNT(e) FROM EvidenceUpload e WHERE e.batchId = :batchId GROUP BY e.status")
+    List<Object[]> countByBatchIdGroupedByStatus(@Param("batchId") String batchId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EvidenceUpload e SET e.status = :to WHERE e.id = :id AND e.status = :from")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("from") EvidenceUpload.ProcessingStatus from,
+                         @Param("to") EvidenceUpload.ProcessingStatus to);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EvidenceUpload e SET e.status = :status, e.processingNotes = :notes WHERE e.id = :id")
+    int updateStatus(@Param("id") Long id,
+                     @Param("status") EvidenceUpload.ProcessingStatus status,
+                     @Param("notes") String notes);
+}
@@ -0,0 +1,22 @@
+package com.saumajit.tprm.grc.repository;
+
+import com.saumajit.tprm.grc.model.EvidenceUpload;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+public interface EvidenceUploadRepositoryCustom {
+
+    List<Long> reviewByIds(Collection<Long> ids, EvidenceUpload.ProcessingStatus status, String notes);
+
+    List<Long> reviewByBatch(String batchId, EvidenceUpload.ProcessingStatus status, String notes);
+
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    List<Long> findUnreviewableIdsByBatch(String batchId);
+
+    boolean claimForProcessing(Long id, Duration lease);
+
+    List<Long> releaseStaleClaims(Duration lease, int limit);
+}
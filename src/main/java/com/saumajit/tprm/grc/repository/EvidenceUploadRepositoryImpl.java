@@ -0,0 +1,108 @@
+package com.saumajit.tprm.grc.repository;
+
+import com.saumajit.tprm.grc.model.EvidenceUpload;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class EvidenceUploadRepositoryImpl implements EvidenceUploadRepositoryCustom {
+
+    // Only evidence that has finished processing can be reviewed; re-reviewing overwrites the earlier decision
+    private static final String[] REVIEWABLE_STATUSES = {
+            EvidenceUpload.ProcessingStatus.COMPLETED.name(),
+            EvidenceUpload.ProcessingStatus.APPROVED.name(),
+            EvidenceUpload.ProcessingStatus.REJECTED.name()
+    };
+
+    // One statement for the whole set; RETURNING reports exactly which rows changed
+    private static final String REVIEW_BY_IDS_SQL =
+            "UPDATE evidence_uploads SET status = ?, processing_notes = ?, updated_at = now() " +
+            "WHERE id = ANY(?) AND status = ANY(?) RETURNING id";
+
+    private static final String REVIEW_BY_BATCH_SQL =
+            "UPDATE evidence_uploads SET status = ?, processing_notes = ?, updated_at = now() " +
+            "WHERE batch_id = ? AND status = ANY(?) RETURNING id";
+
+    private static final String EXISTING_IDS_SQL = "SELECT id FROM evidence_uploads WHERE id = ANY(?)";
+
+    private static final String UNREVIEWABLE_IDS_BY_BATCH_SQL =
+            "SELECT id FROM evidence_uploads WHERE batch_id = ? AND NOT (status = ANY(?)) ORDER BY id";
+
+    // Pending evidence, or evidence whose claim has outlived the lease because its worker stopped.
+    // Lease ages use the database clock so pods with skewed clocks agree.
+    private static final String CLAIM_SQL =
+            "UPDATE evidence_uploads SET status = 'PROCESSING', processing_started_at = now() " +
+            "WHERE id = ? AND (status = 'PENDING' OR (status = 'PROCESSING' " +
+            "AND (processing_started_at IS NULL OR processing_started_at < now() - make_interval(secs => ?))))";
+
+    // SKIP LOCKED lets reapers on several pods release disjoint rows
+    private static final String RELEASE_STALE_CLAIMS_SQL =
+            "UPDATE evidence_uploads SET status = 'PENDING', processing_started_at = NULL " +
+            "WHERE id IN (SELECT id FROM evidence_uploads WHERE status = 'PROCESSING' " +
+            "AND (processing_started_at IS NULL OR processing_started_at < now() - make_interval(secs => ?)) " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> reviewByIds(Collection<Long> ids, EvidenceUpload.ProcessingStatus status, String notes) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(REVIEW_BY_IDS_SQL);
+            ps.setString(1, status.name());
+            ps.setString(2, notes);
+            ps.setArray(3, connection.createArrayOf("bigint", ids.toArray()));
+            ps.setArray(4, connection.createArrayOf("varchar", REVIEWABLE_STATUSES));
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+    }
+
+    @Override
+    public List<Long> reviewByBatch(String batchId, EvidenceUpload.ProcessingStatus status, String notes) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(REVIEW_BY_BATCH_SQL);
+            ps.setString(1, status.name());
+            ps.setString(2, notes);
+            ps.setString(3, batchId);
+            ps.setArray(4, connection.createArrayOf("varchar", REVIEWABLE_STATUSES));
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+    }
+
+    @Override
+    public List<Long> findExistingIds(Collection<Long> ids) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(EXISTING_IDS_SQL);
+            ps.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+    }
+
+    @Override
+    public boolean claimForProcessing(Long id, Duration lease) {
+        return jdbcTemplate.update(CLAIM_SQL, id, seconds(lease)) > 0;
+    }
+
+    @Override
+    public List<Long> releaseStaleClaims(Duration lease, int limit) {
+        return jdbcTemplate.query(RELEASE_STALE_CLAIMS_SQL, (rs, rowNum) -> rs.getLong(1), seconds(lease), limit);
+    }
+
+    @Override
+    public List<Long> findUnreviewableIdsByBatch(String batchId) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(UNREVIEWABLE_IDS_BY_BATCH_SQL);
+            ps.setString(1, batchId);
+            ps.setArray(2, connection.createArrayOf("varchar", REVIEWABLE_STATUSES));
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+}
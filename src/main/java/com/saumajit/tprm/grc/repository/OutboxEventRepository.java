@@ -0,0 +1,37 @@
+package com.saumajit.tprm.grc.repository;
+
+import com.saumajit.tprm.grc.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // SKIP LOCKED lets relays on several pods drain disjoint batches concurrently
+    @Query(value = "SELECT * FROM outbox_events WHERE published_at IS NULL AND parked_at IS NULL " +
+                   "AND (next_attempt_at IS NULL OR next_attempt_at <= :now) ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> lockUnpublished(@Param("limit") int limit, @Param("now") LocalDateTime now);
+
+    // Hides claimed rows from other relays until the lease runs out; joins the caller's transaction
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.nextAttemptAt = :leaseUntil WHERE o.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.publishedAt = :publishedAt WHERE o.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
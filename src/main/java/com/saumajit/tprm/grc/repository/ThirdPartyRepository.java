@@ -10,7 +10,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ThirdPartyRepository extends JpaRepository<ThirdParty, Long> {
+public interface ThirdPartyRepository extends JpaRepository<ThirdParty, Long>, ThirdPartyRepositoryCustom {
 
     Optional<ThirdParty> findByCompanyNameIgnoreCase(String companyName);
 
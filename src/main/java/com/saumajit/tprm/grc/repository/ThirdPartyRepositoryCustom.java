@@ -0,0 +1,23 @@
+package com.saumajit.tprm.grc.repository;
+
+import com.saumajit.tprm.grc.model.ThirdParty;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public interface ThirdPartyRepositoryCustom {
+
+    Set<String> findExistingCompanyNames(Collection<String> lowerCaseNames);
+
+    // Matched on the normalized domain, as VendorIdentityIndex.normalizeDomain computes it
+    Set<String> findExistingDomains(Collection<String> normalizedDomains);
+
+    void forEachDomain(Consumer<String> consumer);
+
+    int batchInsert(List<ThirdParty> thirdParties);
+
+    // similarity needs pg_trgm; without it only substring matches are returned
+    List<ThirdParty> search(String lowerCaseQuery, boolean similarity, int limit, int offset);
+}
@@ -0,0 +1,150 @@
+package com.saumajit.tprm.grc.repository;
+
+import com.saumajit.tprm.grc.model.ThirdParty;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class ThirdPartyRepositoryImpl implements ThirdPartyRepositoryCustom {
+
+    private static final String FIND_EXISTING_NAMES_SQL =
+            "SELECT lower(company_name) FROM third_parties WHERE lower(company_name) = ANY(?)";
+
+    // Must match the expression of idx_third_parties_domain_normalized (V15) for the lookup to use it
+    private static final String NORMALIZED_DOMAIN =
+            "regexp_replace(lower(btrim(domain)), '^(https?://)?(www\\.)?([^/]*).*$', '\\3')";
+
+    private static final String FIND_EXISTING_DOMAINS_SQL =
+            "SELECT DISTINCT " + NORMALIZED_DOMAIN + " FROM third_parties WHERE " + NORMALIZED_DOMAIN + " = ANY(?)";
+
+    private static final String ALL_DOMAINS_SQL = "SELECT domain FROM third_parties WHERE domain IS NOT NULL";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO third_parties (company_name, domain, industry, employee_count, revenue, risk_score, " +
+            "status, contact_email, contact_phone, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, now(), now()) ON CONFLICT DO NOTHING";
+
+    // Substring matches and trigram-similar names, both served by the pg_trgm GIN indexes from V10.
+    // Exact names rank first, then prefixes, then by similarity on name or domain.
+    private static final String SEARCH_SQL =
+            "SELECT t.* FROM third_parties t " +
+            "WHERE lower(t.company_name) LIKE :pattern ESCAPE '\\' " +
+            "OR lower(t.domain) LIKE :pattern ESCAPE '\\' " +
+            "OR lower(t.company_name) % :query " +
+            "ORDER BY (lower(t.company_name) = :query) DESC, " +
+            "(lower(t.company_name) LIKE :prefix ESCAPE '\\') DESC, " +
+            "greatest(similarity(lower(t.company_name), :query), similarity(coalesce(lower(t.domain), ''), :query)) DESC, " +
+            "t.id " +
+            "LIMIT :limit OFFSET :offset";
+
+    // Without pg_trgm: substring matches only, unindexed, ranked exact then prefix
+    private static final String LIKE_SEARCH_SQL =
+            "SELECT t.* FROM third_parties t " +
+            "WHERE lower(t.company_name) LIKE :pattern ESCAPE '\\' " +
+            "OR lower(t.domain) LIKE :pattern ESCAPE '\\' " +
+            "ORDER BY (lower(t.company_name) = :query) DESC, " +
+            "(lower(t.company_name) LIKE :prefix ESCAPE '\\') DESC, " +
+            "t.id " +
+            "LIMIT :limit OFFSET :offset";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public Set<String> findExistingCompanyNames(Collection<String> lowerCaseNames) {
+        Set<String> existing = new HashSet<>();
+        if (lowerCaseNames.isEmpty()) {
+            return existing;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(FIND_EXISTING_NAMES_SQL);
+            Array names = connection.createArrayOf("text", lowerCaseNames.toArray());
+            ps.setArray(1, names);
+            return ps;
+        }, rs -> {
+            existing.add(rs.getString(1));
+        });
+        return existing;
+    }
+
+    @Override
+    public Set<String> findExistingDomains(Collection<String> normalizedDomains) {
+        Set<String> existing = new HashSet<>();
+        if (normalizedDomains.isEmpty()) {
+            return existing;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(FIND_EXISTING_DOMAINS_SQL);
+            Array domains = connection.createArrayOf("text", normalizedDomains.toArray());
+            ps.setArray(1, domains);
+            return ps;
+        }, rs -> {
+            existing.add(rs.getString(1));
+        });
+        return existing;
+    }
+
+    // Streams rows with a cursor when called inside a transaction, so the whole table is never held at once
+    @Override
+    public void forEachDomain(Consumer<String> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(ALL_DOMAINS_SQL);
+            ps.setFetchSize(10_000);
+            return ps;
+        }, rs -> {
+            consumer.accept(rs.getString(1));
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ThirdParty> search(String lowerCaseQuery, boolean similarity, int limit, int offset) {
+        String escaped = lowerCaseQuery.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return entityManager.createNativeQuery(similarity ? SEARCH_SQL : LIKE_SEARCH_SQL, ThirdParty.class)
+                .setParameter("query", lowerCaseQuery)
+                .setParameter("pattern", "%" + escaped + "%")
+                .setParameter("prefix", escaped + "%")
+                .setParameter("limit", limit)
+                .setParameter("offset", offset)
+                .getResultList();
+    }
+
+    @Override
+    public int batchInsert(List<ThirdParty> thirdParties) {
+        if (thirdParties.isEmpty()) {
+            return 0;
+        }
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_SQL, thirdParties, thirdParties.size(), (ps, thirdParty) -> {
+            ps.setString(1, thirdParty.getCompanyName());
+            ps.setString(2, thirdParty.getDomain());
+            ps.setString(3, thirdParty.getIndustry());
+            ps.setObject(4, thirdParty.getEmployeeCount(), Types.INTEGER);
+            ps.setObject(5, thirdParty.getRevenue(), Types.BIGINT);
+            ps.setInt(6, thirdParty.getRiskScore());
+            ps.setString(7, thirdParty.getStatus().name());
+            ps.setString(8, thirdParty.getContactEmail());
+            ps.setString(9, thirdParty.getContactPhone());
+        })[0];
+
+        int inserted = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                inserted += count;
+            } else if (count == Statement.SUCCESS_NO_INFO) {
+                inserted++;
+            }
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,29 @@
+package com.saumajit.tprm.grc.service;
+
+import com.saumajit.tprm.grc.model.User;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+// Principal the JWT filter puts in the security context. Immutable and detached from JPA, so one cached
+// instance can be shared by concurrent requests; code that needs the row loads or references it by id.
+public record AuthenticatedUser(Long id, String username, User.Role role, boolean enabled)
+        implements AuthenticatedPrincipal {
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole(), user.isEnabled()
+                && user.isAccountNonLocked() && user.isAccountNonExpired());
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority(role.getAuthority()));
+    }
+
+    // Authentication.getName() resolves to this
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,107 @@
+package com.saumajit.tprm.grc.service;
+
+import com.saumajit.tprm.grc.dto.EvidenceCategoryDTO;
+import com.saumajit.tprm.grc.model.EvidenceUpload;
+import com.saumajit.tprm.grc.repository.EvidenceCategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Order(20)
+@RequiredArgsConstructor
+@Slf4j
+public class AutoCategorizationStage implements EvidenceProcessingStage {
+
+    private final EvidenceCategoryService evidenceCategoryService;
+    private final EvidenceCategoryRepository evidenceCategoryRepository;
+
+    // Category changes made in the database only reach the matcher through this refresh
+    @Value("${grc.evidence.categorization.refresh-interval:10m}")
+    private Duration refreshInterval;
+
+    private volatile KeywordMatcher matcher;
+    private volatile Instant builtAt = Instant.MIN;
+
+    // Not synchronized: a virtual thread blocked on the category load would pin its carrier
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    @Override
+    public String getName() {
+        return "categorize";
+    }
+
+    @Override
+    public void process(EvidenceUpload evidence) {
+        // An explicit category from the uploader wins
+        if (evidence.getCategory() != null) {
+            return;
+        }
+        KeywordMatcher current = currentMatcher();
+        if (current.isEmpty()) {
+            return;
+        }
+
+        current.bestCategory(textOf(evidence)).ifPresent(categoryId -> {
+            evidence.setCategory(evidenceCategoryRepository.getReferenceById(categoryId));
+            log.debug("Evidence {} categorized as {}", evidence.getId(), categoryId);
+        });
+    }
+
+    private KeywordMatcher currentMatcher() {
+        KeywordMatcher current = matcher;
+        if (current != null && builtAt.plus(refreshInterval).isAfter(Instant.now())) {
+            return current;
+        }
+        buildLock.lock();
+        try {
+            if (matcher == null || !builtAt.plus(refreshInterval).isAfter(Instant.now())) {
+                matcher = build();
+                builtAt = Instant.now();
+            }
+            return matcher;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private KeywordMatcher build() {
+        Map<String, List<Long>> categoriesByKeyword = new HashMap<>();
+        for (EvidenceCategoryDTO category : evidenceCategoryService.getAllCategories()) {
+            if (!Boolean.TRUE.equals(category.getAutoCategorize())) {
+                continue;
+            }
+            for (String keyword : category.getKeywords()) {
+                categoriesByKeyword.computeIfAbsent(keyword, k -> new ArrayList<>()).add(category.getId());
+            }
+        }
+        log.info("Built category matcher over {} keywords", categoriesByKeyword.size());
+        return new KeywordMatcher(categoriesByKeyword);
+    }
+
+    private static String textOf(EvidenceUpload evidence) {
+        StringBuilder text = new StringBuilder();
+        // Separators in file names act as word breaks
+        text.append(evidence.getOriginalFileName().replaceAll("[_\\-.]", " "));
+        if (evidence.getDescription() != null) {
+            text.append('\n').append(evidence.getDescription());
+        }
+        if (evidence.getTags() != null) {
+            text.append('\n').append(evidence.getTags());
+        }
+        if (evidence.getExtractedText() != null) {
+            text.append('\n').append(evidence.getExtractedText());
+        }
+        return text.toString();
+    }
+}
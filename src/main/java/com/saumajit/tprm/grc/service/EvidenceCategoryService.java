@@ -0,0 +1,41 @@
+package com.saumajit.tprm.grc.service;
+
+import com.saumajit.tprm.grc.dto.EvidenceCategoryDTO;
+import com.saumajit.tprm.grc.repository.EvidenceCategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+
+// Categories have no write API and are maintained directly in the database, so cached entries go stale
+// for at most spring.cache.redis.time-to-live
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EvidenceCategoryService {
+
+    public static final String CATEGORIES_CACHE = "evidence-categories";
+    public static final String CATEGORY_BY_NAME_CACHE = "evidence-category-by-name";
+
+    private final EvidenceCategoryRepository evidenceCategoryRepository;
+
+    @Cacheable(cacheNames = CATEGORIES_CACHE, key = "'all'")
+    @Transactional(readOnly = true)
+    public ArrayList<EvidenceCategoryDTO> getAllCategories() {
+        ArrayList<EvidenceCategoryDTO> categories = new ArrayList<>();
+        evidenceCategoryRepository.findAll().forEach(category -> categories.add(new EvidenceCategoryDTO(category)));
+        log.debug("Loaded {} evidence categories", categories.size());
+        return categories;
+    }
+
+    @Cacheable(cacheNames = CATEGORY_BY_NAME_CACHE, key = "#name", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public EvidenceCategoryDTO findByName(String name) {
+        return evidenceCategoryRepository.findByName(name)
+                .map(EvidenceCategoryDTO::new)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.saumajit.tprm.grc.service;
+
+import com.saumajit.tprm.grc.dto.EvidenceProcessingEvent;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.concurrent.CompletableFuture;
+
+// Not a KafkaTemplate bean itself, so Boot's auto-configured KafkaTemplate stays in place
+@RequiredArgsConstructor
+public class EvidenceEventPublisher {
+
+    public static final String TOPIC = "evidence-processing";
+
+    @Getter
+    private final KafkaTemplate<String, EvidenceProcessingEvent> kafkaTemplate;
+
+    // Evidence events are enqueued through the outbox and sent from here by OutboxRelay, keyed by evidence id
+    public CompletableFuture<SendResult<String, EvidenceProcessingEvent>> publish(EvidenceProcessingEvent event) {
+        return kafkaTemplate.send(TOPIC, String.valueOf(event.getEvidenceId()), event);
+    }
+}
@@ -1,62 +1,142 @@
 package com.saumajit.tprm.grc.service;
 
+import com.saumajit.tprm.grc.dto.BatchStatusResponse;
+import com.saumajit.tprm.grc.dto.BulkReviewRequest;
+import com.saumajit.tprm.grc.dto.BulkReviewResponse;
+import com.saumajit.tprm.grc.dto.CursorPage;
 import com.saumajit.tprm.grc.dto.EvidenceBatchUploadResponse;
+import com.saumajit.tprm.grc.dto.EvidenceProcessingEvent;
+import com.saumajit.tprm.grc.dto.EvidenceReviewedEvent;
 import com.saumajit.tprm.grc.dto.MultipleEvidenceUploadRequest;
+import com.saumajit.tprm.grc.dto.ProgressUpdate;
+import com.saumajit.tprm.grc.dto.EvidenceUploadSummary;
+import com.saumajit.tprm.grc.dto.StoredObject;
+import com.saumajit.tprm.grc.model.EvidenceCategory;
 import com.saumajit.tprm.grc.model.EvidenceUpload;
 import com.saumajit.tprm.grc.model.User;
+import com.saumajit.tprm.grc.repository.EvidenceCategoryRepository;
 import com.saumajit.tprm.grc.repository.EvidenceUploadRepository;
+import com.saumajit.tprm.grc.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EvidenceProcessingService {
 
+    public static final String REVIEW_TOPIC = "evidence-reviewed";
+
     private final EvidenceUploadRepository evidenceUploadRepository;
+    private final EvidenceCategoryRepository evidenceCategoryRepository;
+    private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final ProgressBus progressBus;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${grc.evidence.upload.max-concurrency:16}")
+    private int uploadMaxConcurrency;
+
+    @Value("${grc.evidence.upload.virtual-threads:true}")
+    private boolean uploadVirtualThreads;
+
+    @Value("${grc.evidence.listing.max-page-size:200}")
+    private int maxPageSize;
+
+    @Value("${grc.evidence.review.max-ids:1000}")
+    private int maxReviewIds;
+
+    private ExecutorService evidenceUploadExecutor;
+
+    @PostConstruct
+    void initUploadExecutor() {
+        // A fixed number of threads caps concurrent MinIO uploads across all requests on this pod
+        ThreadFactory threadFactory = uploadVirtualThreads
+                ? Thread.ofVirtual().name("evidence-upload-", 0).factory()
+                : Thread.ofPlatform().name("evidence-upload-", 0).factory();
+        evidenceUploadExecutor = Executors.newFixedThreadPool(uploadMaxConcurrency, threadFactory);
+    }
+
+    @PreDestroy
+    void shutdownUploadExecutor() {
+        evidenceUploadExecutor.shutdown();
+    }
 
     @Transactional
     public UUID processEvidenceUpload(MultipartFile file, Long categoryId, 
             EvidenceUpload.EvidenceType evidenceType, String description, String tags,
-            Long questionnaireId, Long questionId, User user) {
+            Long questionnaireId, Long questionId, AuthenticatedUser user) {
         try {
             String batchId = UUID.randomUUID().toString();
             
             // Store file
-            String filePath = fileStorageService.storeFile(file);
+            StoredObject stored = timeStage("store", evidenceType, () -> fileStorageService.storeFile(file));
+            recordFileSize(evidenceType, file.getSize());
             
             // Create evidence record
             EvidenceUpload evidence = new EvidenceUpload();
             evidence.setBatchId(batchId);
             evidence.setFileName(generateUniqueFileName(file.getOriginalFilename()));
             evidence.setOriginalFileName(file.getOriginalFilename());
-            evidence.setFilePath(filePath);
+            evidence.setFilePath(timeStage("dedup", evidenceType, () -> deduplicate(stored, evidenceType)));
+            evidence.setContentHash(stored.getContentHash());
             evidence.setFileSize(file.getSize());
             evidence.setContentType(file.getContentType());
             evidence.setEvidenceType(evidenceType);
+            if (categoryId != null) {
+                evidence.setCategory(evidenceCategoryRepository.getReferenceById(categoryId));
+            }
             evidence.setDescription(description);
             evidence.setTags(tags);
             evidence.setQuestionnaireId(questionnaireId);
             evidence.setQuestionId(questionId);
-            evidence.setUploadedBy(user);
+            evidence.setUploadedBy(userRepository.getReferenceById(user.id()));
             evidence.setStatus(EvidenceUpload.ProcessingStatus.PENDING);
             
-            EvidenceUpload saved = evidenceUploadRepository.save(evidence);
-            
-            // Send to Kafka for processing
-            kafkaTemplate.send("evidence-processing", saved);
+            EvidenceUpload saved = timeStage("save", evidenceType, () -> {
+                EvidenceUpload row = evidenceUploadRepository.save(evidence);
+                // Queue for processing; the outbox row commits with the evidence record
+                outboxService.enqueue(EvidenceEventPublisher.TOPIC, String.valueOf(row.getId()),
+                        new EvidenceProcessingEvent(row));
+                return row;
+            });
             
-            log.info("Evidence upload initiated: {} by user: {}", saved.getId(), user.getUsername());
+            log.info("Evidence upload initiated: {} by user: {}", saved.getId(), user.username());
             return UUID.fromString(batchId);
             
         } catch (Exception e) {
@@ -65,49 +145,89 @@ public class EvidenceProcessingService {
         }
     }
 
-    @Transactional
+    // Not transactional: the body streams to object storage before the metadata insert takes a connection
+    public UUID processEvidenceStreamUpload(InputStream inputStream, String originalFileName, String contentType,
+            long size, EvidenceUpload.EvidenceType evidenceType, String description, String tags,
+            Long questionnaireId, Long questionId, AuthenticatedUser user) {
+        UUID batchId = UUID.randomUUID();
+
+        StoredObject stored = timeStage("store", evidenceType,
+                () -> fileStorageService.uploadStream(inputStream, originalFileName, contentType, size, batchId));
+        recordFileSize(evidenceType, stored.getSize());
+
+        EvidenceUpload evidence = new EvidenceUpload();
+        evidence.setBatchId(batchId.toString());
+        evidence.setFileName(generateUniqueFileName(originalFileName));
+        evidence.setOriginalFileName(originalFileName);
+        evidence.setFilePath(timeStage("dedup", evidenceType, () -> deduplicate(stored, evidenceType)));
+        evidence.setContentHash(stored.getContentHash());
+        evidence.setFileSize(stored.getSize());
+        evidence.setContentType(contentType);
+        evidence.setEvidenceType(evidenceType);
+        evidence.setDescription(description);
+        evidence.setTags(tags);
+        evidence.setQuestionnaireId(questionnaireId);
+        evidence.setQuestionId(questionId);
+        evidence.setStatus(EvidenceUpload.ProcessingStatus.PENDING);
+
+        EvidenceUpload saved = timeStage("save", evidenceType, () -> transactionTemplate.execute(status -> {
+            evidence.setUploadedBy(userRepository.getReferenceById(user.id()));
+            EvidenceUpload row = evidenceUploadRepository.save(evidence);
+            outboxService.enqueue(EvidenceEventPublisher.TOPIC, String.valueOf(row.getId()),
+                    new EvidenceProcessingEvent(row));
+            return row;
+        }));
+
+        log.info("Evidence stream upload initiated: {} by user: {}", saved.getId(), user.username());
+        return batchId;
+    }
+
+    // Not transactional: object storage uploads run in parallel and only the metadata insert holds a connection
     public EvidenceBatchUploadResponse processMultipleEvidenceUpload(
-            MultipartFile[] files, MultipleEvidenceUploadRequest request, User user) {
+            MultipartFile[] files, MultipleEvidenceUploadRequest request, AuthenticatedUser user) {
         
         String batchId = UUID.randomUUID().toString();
         List<String> successfulFiles = new ArrayList<>();
         List<String> failedFiles = new ArrayList<>();
-        
+
+        // Fan the uploads out so the batch takes roughly as long as its slowest file
+        List<CompletableFuture<EvidenceUpload>> uploads = new ArrayList<>(files.length);
         for (MultipartFile file : files) {
+            uploads.add(CompletableFuture.supplyAsync(
+                    () -> storeEvidence(file, batchId, request), evidenceUploadExecutor));
+        }
+
+        List<EvidenceUpload> stored = new ArrayList<>(files.length);
+        for (int i = 0; i < files.length; i++) {
             try {
-                // Store file
-                String filePath = fileStorageService.storeFile(file);
-                
-                // Create evidence record
-                EvidenceUpload evidence = new EvidenceUpload();
-                evidence.setBatchId(batchId);
-                evidence.setFileName(generateUniqueFileName(file.getOriginalFilename()));
-                evidence.setOriginalFileName(file.getOriginalFilename());
-                evidence.setFilePath(filePath);
-                evidence.setFileSize(file.getSize());
-                evidence.setContentType(file.getContentType());
-                evidence.setEvidenceType(request.getEvidenceType());
-                evidence.setApplicablePolicies(request.getApplicablePolicies());
-                evidence.setDescription(request.getDescription());
-                evidence.setTags(request.getTags());
-                evidence.setQuestionnaireId(request.getQuestionnaireId());
-                evidence.setQuestionId(request.getQuestionId());
-                evidence.setUploadedBy(user);
-                evidence.setStatus(EvidenceUpload.ProcessingStatus.PENDING);
-                
-                EvidenceUpload saved = evidenceUploadRepository.save(evidence);
-                
-                // Send to Kafka for processing
-                kafkaTemplate.send("evidence-processing", saved);
-                
-                successfulFiles.add(file.getOriginalFilename());
-                log.info("Evidence uploaded successfully: {} in batch: {}", saved.getId(), batchId);
-                
-            } catch (Exception e) {
-                failedFiles.add(file.getOriginalFilename());
-                log.error("Failed to upload evidence: {} - {}", file.getOriginalFilename(), e.getMessage());
+                stored.add(uploads.get(i).join());
+            } catch (CompletionException e) {
+                failedFiles.add(files[i].getOriginalFilename());
+                log.error("Failed to upload evidence: {} - {}", files[i].getOriginalFilename(), e.getCause().getMessage());
             }
         }
+
+        // Insert all metadata rows and their outbox events in one short transaction once every upload has finished
+        List<EvidenceUpload> saved = timeStage("save", request.getEvidenceType(), () -> transactionTemplate.execute(status -> {
+            User uploader = userRepository.getReferenceById(user.id());
+            stored.forEach(evidence -> evidence.setUploadedBy(uploader));
+            // Uncategorized uploads are picked up by the auto-categorization stage
+            if (request.getCategoryId() != null) {
+                EvidenceCategory category = evidenceCategoryRepository.getReferenceById(request.getCategoryId());
+                stored.forEach(evidence -> evidence.setCategory(category));
+            }
+            List<EvidenceUpload> rows = evidenceUploadRepository.saveAll(stored);
+            for (EvidenceUpload evidence : rows) {
+                outboxService.enqueue(EvidenceEventPublisher.TOPIC, String.valueOf(evidence.getId()),
+                        new EvidenceProcessingEvent(evidence));
+            }
+            return rows;
+        }));
+
+        for (EvidenceUpload evidence : saved) {
+            successfulFiles.add(evidence.getOriginalFileName());
+        }
+        log.info("Evidence batch {} uploaded: {} successful, {} failed", batchId, saved.size(), failedFiles.size());
         
         return new EvidenceBatchUploadResponse(
             batchId,
@@ -122,6 +242,169 @@ public class EvidenceProcessingService {
         );
     }
 
+    private EvidenceUpload storeEvidence(MultipartFile file, String batchId,
+            MultipleEvidenceUploadRequest request) {
+        // Store file
+        EvidenceUpload.EvidenceType evidenceType = request.getEvidenceType();
+        StoredObject stored = timeStage("store", evidenceType, () -> fileStorageService.storeFile(file));
+        recordFileSize(evidenceType, file.getSize());
+
+        // Create evidence record
+        EvidenceUpload evidence = new EvidenceUpload();
+        evidence.setBatchId(batchId);
+        evidence.setFileName(generateUniqueFileName(file.getOriginalFilename()));
+        evidence.setOriginalFileName(file.getOriginalFilename());
+        evidence.setFilePath(timeStage("dedup", evidenceType, () -> deduplicate(stored, evidenceType)));
+        evidence.setContentHash(stored.getContentHash());
+        evidence.setFileSize(file.getSize());
+        evidence.setContentType(file.getContentType());
+        evidence.setEvidenceType(evidenceType);
+        evidence.setApplicablePolicies(request.getApplicablePolicies());
+        evidence.setDescription(request.getDescription());
+        evidence.setTags(request.getTags());
+        evidence.setQuestionnaireId(request.getQuestionnaireId());
+        evidence.setQuestionId(request.getQuestionId());
+        evidence.setStatus(EvidenceUpload.ProcessingStatus.PENDING);
+        return evidence;
+    }
+
+    // Identical bytes are already stored: drop the fresh copy and point the new record at the existing object
+    private String deduplicate(StoredObject stored, EvidenceUpload.EvidenceType evidenceType) {
+        if (stored.getContentHash() == null) {
+            return stored.getPath();
+        }
+        String path = evidenceUploadRepository.findFirstByContentHashAndStatusNotOrderByIdAsc(
+                        stored.getContentHash(), EvidenceUpload.ProcessingStatus.FAILED)
+                .filter(existing -> !existing.getFilePath().equals(stored.getPath()))
+                .map(existing -> {
+                    try {
+                        fileStorageService.deleteFile(stored.getPath());
+                    } catch (Exception e) {
+                        // Only costs storage; the record still points at the existing object
+                        log.warn("Could not remove duplicate object {}: {}", stored.getPath(), e.getMessage());
+                    }
+                    log.info("Upload {} duplicates evidence {}, reusing {}",
+                            stored.getPath(), existing.getId(), existing.getFilePath());
+                    return existing.getFilePath();
+                })
+                .orElse(stored.getPath());
+
+        // Hit ratio is hits / (hits + misses) per evidence type
+        Counter.builder("grc.evidence.dedup")
+                .description("Uploads checked against stored content hashes")
+                .tag("evidence_type", evidenceTypeTag(evidenceType))
+                .tag("result", path.equals(stored.getPath()) ? "miss" : "hit")
+                .register(meterRegistry)
+                .increment();
+        return path;
+    }
+
+    private <T> T timeStage(String stage, EvidenceUpload.EvidenceType evidenceType, Supplier<T> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = work.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder("grc.evidence.upload.stage")
+                    .description("Time spent in each evidence upload stage")
+                    .tag("stage", stage)
+                    .tag("evidence_type", evidenceTypeTag(evidenceType))
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private void recordFileSize(EvidenceUpload.EvidenceType evidenceType, long size) {
+        DistributionSummary.builder("grc.evidence.file.size")
+                .description("Size of uploaded evidence files")
+                .baseUnit("bytes")
+                .tag("evidence_type", evidenceTypeTag(evidenceType))
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1024.0)
+                .maximumExpectedValue(1024.0 * 1024 * 1024)
+                .register(meterRegistry)
+                .record(size);
+    }
+
+    static String evidenceTypeTag(EvidenceUpload.EvidenceType evidenceType) {
+        return evidenceType != null ? evidenceType.name() : "none";
+    }
+
+    public BatchStatusResponse getBatchStatus(String batchId) {
+        int pending = 0, processing = 0, completed = 0, failed = 0;
+        for (Object[] row : evidenceUploadRepository.countByBatchIdGroupedByStatus(batchId)) {
+            int count = ((Long) row[1]).intValue();
+            switch ((EvidenceUpload.ProcessingStatus) row[0]) {
+                case PENDING -> pending += count;
+                case PROCESSING -> processing += count;
+                case FAILED -> failed += count;
+                // Reviewed evidence has finished processing
+                case COMPLETED, APPROVED, REJECTED -> completed += count;
+            }
+        }
+
+        int total = pending + processing + completed + failed;
+        if (total == 0) {
+            throw new IllegalArgumentException("Batch not found: " + batchId);
+        }
+
+        String overallStatus;
+        if (pending == total) {
+            overallStatus = "PENDING";
+        } else if (pending + processing > 0) {
+            overallStatus = "PROCESSING";
+        } else if (failed == total) {
+            overallStatus = "FAILED";
+        } else if (failed > 0) {
+            overallStatus = "COMPLETED_WITH_ERRORS";
+        } else {
+            overallStatus = "COMPLETED";
+        }
+
+        return BatchStatusResponse.builder()
+                .batchId(UUID.fromString(batchId))
+                .totalFiles(total)
+                .pendingFiles(pending)
+                .processingFiles(processing)
+                .completedFiles(completed)
+                .failedFiles(failed)
+                .overallStatus(overallStatus)
+                .progressPercentage((completed + failed) * 100 / total)
+                .build();
+    }
+
+    public SseEmitter streamBatchStatus(String batchId) {
+        return progressBus.subscribe(batchChannel(batchId), () -> batchProgress(getBatchStatus(batchId)));
+    }
+
+    // Called by the worker on each status change; one grouped count per change, not per watcher,
+    // and none at all while nobody is watching the batch
+    public void publishBatchProgress(String batchId) {
+        try {
+            if (!progressBus.hasWatchers(batchChannel(batchId))) {
+                return;
+            }
+            progressBus.publish(batchProgress(getBatchStatus(batchId)));
+        } catch (Exception e) {
+            log.warn("Could not publish progress for batch {}: {}", batchId, e.getMessage());
+        }
+    }
+
+    private static ProgressUpdate batchProgress(BatchStatusResponse status) {
+        boolean last = !"PENDING".equals(status.getOverallStatus())
+                && !"PROCESSING".equals(status.getOverallStatus());
+        // Finished items only grow, so they order snapshots taken on different workers
+        return new ProgressUpdate(batchChannel(status.getBatchId().toString()), status, last,
+                status.getCompletedFiles() + status.getFailedFiles());
+    }
+
+    private static String batchChannel(String batchId) {
+        return "evidence-batch:" + batchId;
+    }
+
     public List<EvidenceUpload> getEvidenceByBatchId(String batchId) {
         return evidenceUploadRepository.findByBatchId(batchId);
     }
@@ -130,31 +413,159 @@ public class EvidenceProcessingService {
         return evidenceUploadRepository.findByUploadedByIdOrderByCreatedAtDesc(userId);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<EvidenceUploadSummary> getEvidenceByBatchId(String batchId, String cursor, int limit) {
+        Pageable page = pageOf(limit);
+        List<EvidenceUploadSummary> rows;
+        if (cursor == null) {
+            rows = evidenceUploadRepository.findUploadSummariesByBatch(batchId, page);
+        } else {
+            Cursor after = decodeCursor(cursor);
+            rows = evidenceUploadRepository.findUploadSummariesByBatchAfter(batchId, after.createdAt(), after.id(), page);
+        }
+        return toCursorPage(rows, page.getPageSize());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<EvidenceUploadSummary> getEvidenceByUser(Long userId, String cursor, int limit) {
+        Pageable page = pageOf(limit);
+        List<EvidenceUploadSummary> rows;
+        if (cursor == null) {
+            rows = evidenceUploadRepository.findUploadSummariesByUser(userId, page);
+        } else {
+            Cursor before = decodeCursor(cursor);
+            rows = evidenceUploadRepository.findUploadSummariesByUserBefore(userId, before.createdAt(), before.id(), page);
+        }
+        return toCursorPage(rows, page.getPageSize());
+    }
+
+    private Pageable pageOf(int limit) {
+        return PageRequest.of(0, Math.max(1, Math.min(limit, maxPageSize)));
+    }
+
+    private CursorPage<EvidenceUploadSummary> toCursorPage(List<EvidenceUploadSummary> rows, int pageSize) {
+        if (!rows.isEmpty()) {
+            Map<Long, EvidenceUploadSummary> byId = new HashMap<>();
+            rows.forEach(row -> byId.put(row.getId(), row));
+            for (Object[] policy : evidenceUploadRepository.findPoliciesByEvidenceIds(byId.keySet())) {
+                byId.get((Long) policy[0]).getApplicablePolicies().add((EvidenceUpload.PolicyType) policy[1]);
+            }
+        }
+        // A short page means there is nothing after it
+        String nextCursor = rows.size() < pageSize ? null : encodeCursor(rows.get(rows.size() - 1));
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    private record Cursor(LocalDateTime createdAt, Long id) {
+    }
+
+    private static String encodeCursor(EvidenceUploadSummary last) {
+        String raw = last.getCreatedAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
     @Transactional
-    public void approveEvidence(Long evidenceId, User approver) {
+    public void approveEvidence(Long evidenceId, AuthenticatedUser approver) {
         EvidenceUpload evidence = evidenceUploadRepository.findById(evidenceId)
             .orElseThrow(() -> new IllegalArgumentException("Evidence not found"));
         
         evidence.setStatus(EvidenceUpload.ProcessingStatus.APPROVED);
-        evidence.setProcessingNotes("Approved by: " + approver.getUsername());
+        evidence.setProcessingNotes("Approved by: " + approver.username());
         evidenceUploadRepository.save(evidence);
         
-        log.info("Evidence {} approved by {}", evidenceId, approver.getUsername());
+        log.info("Evidence {} approved by {}", evidenceId, approver.username());
     }
 
     @Transactional
-    public void rejectEvidence(Long evidenceId, String reason, User rejector) {
+    public void rejectEvidence(Long evidenceId, String reason, AuthenticatedUser rejector) {
         EvidenceUpload evidence = evidenceUploadRepository.findById(evidenceId)
             .orElseThrow(() -> new IllegalArgumentException("Evidence not found"));
         
         evidence.setStatus(EvidenceUpload.ProcessingStatus.REJECTED);
-        evidence.setProcessingNotes("Rejected by: " + rejector.getUsername() + ". Reason: " + reason);
+        evidence.setProcessingNotes("Rejected by: " + rejector.username() + ". Reason: " + reason);
         evidenceUploadRepository.save(evidence);
         
-        log.info("Evidence {} rejected by {} - Reason: {}", evidenceId, rejector.getUsername(), reason);
+        log.info("Evidence {} rejected by {} - Reason: {}", evidenceId, rejector.username(), reason);
+    }
+
+    // Set-based review: one UPDATE for all IDs or the whole batch, then a single aggregated outbox event
+    @Transactional
+    public BulkReviewResponse reviewEvidence(BulkReviewRequest request, AuthenticatedUser reviewer) {
+        boolean byIds = request.getEvidenceIds() != null && !request.getEvidenceIds().isEmpty();
+        boolean byBatch = request.getBatchId() != null && !request.getBatchId().isBlank();
+        if (byIds == byBatch) {
+            throw new IllegalArgumentException("Provide either evidenceIds or batchId");
+        }
+        if (byIds && request.getEvidenceIds().size() > maxReviewIds) {
+            throw new IllegalArgumentException("At most " + maxReviewIds + " evidence IDs can be reviewed per request");
+        }
+        boolean approve = request.getAction() == BulkReviewRequest.Action.APPROVE;
+        if (!approve && (request.getReason() == null || request.getReason().isBlank())) {
+            throw new IllegalArgumentException("A reason is required to reject evidence");
+        }
+
+        EvidenceUpload.ProcessingStatus status = approve
+                ? EvidenceUpload.ProcessingStatus.APPROVED
+                : EvidenceUpload.ProcessingStatus.REJECTED;
+        String notes = approve
+                ? "Approved by: " + reviewer.username()
+                : "Rejected by: " + reviewer.username() + ". Reason: " + request.getReason();
+
+        List<Long> updated;
+        List<BulkReviewResponse.Result> results = new ArrayList<>();
+        if (byIds) {
+            Set<Long> ids = new LinkedHashSet<>(request.getEvidenceIds());
+            ids.remove(null);
+            updated = evidenceUploadRepository.reviewByIds(ids, status, notes);
+
+            // Only look up the misses when something was skipped
+            Set<Long> updatedIds = new HashSet<>(updated);
+            Set<Long> existingIds = updatedIds.size() == ids.size()
+                    ? updatedIds
+                    : new HashSet<>(evidenceUploadRepository.findExistingIds(ids));
+            for (Long id : ids) {
+                BulkReviewResponse.Outcome outcome = updatedIds.contains(id) ? BulkReviewResponse.Outcome.UPDATED
+                        : existingIds.contains(id) ? BulkReviewResponse.Outcome.NOT_REVIEWABLE
+                        : BulkReviewResponse.Outcome.NOT_FOUND;
+                results.add(new BulkReviewResponse.Result(id, outcome));
+            }
+        } else {
+            updated = evidenceUploadRepository.reviewByBatch(request.getBatchId(), status, notes);
+            for (Long id : updated) {
+                results.add(new BulkReviewResponse.Result(id, BulkReviewResponse.Outcome.UPDATED));
+            }
+            for (Long id : evidenceUploadRepository.findUnreviewableIdsByBatch(request.getBatchId())) {
+                results.add(new BulkReviewResponse.Result(id, BulkReviewResponse.Outcome.NOT_REVIEWABLE));
+            }
+            if (results.isEmpty()) {
+                throw new IllegalArgumentException("Batch not found: " + request.getBatchId());
+            }
+        }
+
+        if (!updated.isEmpty()) {
+            String key = byBatch ? request.getBatchId() : String.valueOf(reviewer.id());
+            outboxService.enqueue(REVIEW_TOPIC, key, new EvidenceReviewedEvent(status, byBatch ? request.getBatchId() : null,
+                    updated, reviewer.id(), reviewer.username(), approve ? null : request.getReason(),
+                    LocalDateTime.now()));
+        }
+
+        log.info("{} evidence reviewed as {} by {}, {} skipped",
+                updated.size(), status, reviewer.username(), results.size() - updated.size());
+        return new BulkReviewResponse(request.getAction(), updated.size(), results.size() - updated.size(), results);
     }
 
-    private String generateUniqueFileName(String originalFileName) {
+    // Package-private for the JMH benchmarks in src/jmh/java
+    static String generateUniqueFileName(String originalFileName) {
         String timestamp = String.valueOf(System.currentTimeMillis());
         String extension = "";
         int lastDot = originalFileName.lastIndexOf('.');
@@ -0,0 +1,10 @@
+package com.saumajit.tprm.grc.service;
+
+import com.saumajit.tprm.grc.model.EvidenceUpload;
+
+public interface EvidenceProcessingStage {
+
+    String getName();
+
+    void process(EvidenceUpload evidence) throws Exception;
+}
@@ -0,0 +1,135 @@
+package com.saumajit.tprm.grc.service;
+
+import com.saumajit.tprm.grc.dto.EvidenceProcessingEvent;
+import com.saumajit.tprm.grc.model.EvidenceUpload;
+import com.saumajit.tprm.grc.repository.EvidenceUploadRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "spring.kafka.bootstrap-servers")
+public class EvidenceProcessingWorker {
+
+    private final EvidenceUploadRepository evidenceUploadRepository;
+    private final EvidenceProcessingService evidenceProcessingService;
+    private final List<EvidenceProcessingStage> stages;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // Must outlast the slowest successful run, or a live claim is taken over and the evidence processed twice
+    @Value("${grc.evidence.worker.processing-lease:15m}")
+    private Duration processingLease;
+
+    @Value("${grc.evidence.worker.reclaim-batch-size:100}")
+    private int reclaimBatchSize;
+
+    @KafkaListener(topics = "evidence-processing", containerFactory = "evidenceListenerContainerFactory")
+    public void processEvidence(EvidenceProcessingEvent event) {
+        Long evidenceId = event.getEvidenceId();
+
+        // Claiming PENDING -> PROCESSING makes redelivered messages a no-op while the claim is live.
+        // A claim whose worker died is taken over here once stale, or re-enqueued by reclaimStaleClaims.
+        if (!evidenceUploadRepository.claimForProcessing(evidenceId, processingLease)) {
+            log.info("Evidence {} is not pending, skipping", evidenceId);
+            return;
+        }
+        evidenceProcessingService.publishBatchProgress(event.getBatchId());
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            EvidenceUpload evidence = evidenceUploadRepository.findById(evidenceId)
+                    .orElseThrow(() -> new IllegalArgumentException("Evidence not found: " + evidenceId));
+
+            for (EvidenceProcessingStage stage : stages) {
+                runStage(stage, evidence, event.getEvidenceType());
+            }
+
+            evidence.setStatus(EvidenceUpload.ProcessingStatus.COMPLETED);
+            evidenceUploadRepository.save(evidence);
+
+            sample.stop(processingTimer("completed", event.getEvidenceType()));
+            log.info("Evidence {} processed successfully", evidenceId);
+            evidenceProcessingService.publishBatchProgress(event.getBatchId());
+
+        } catch (Exception e) {
+            sample.stop(processingTimer("error", event.getEvidenceType()));
+            // Hand the record back so the next retry attempt can claim it again
+            evidenceUploadRepository.transitionStatus(evidenceId,
+                    EvidenceUpload.ProcessingStatus.PROCESSING, EvidenceUpload.ProcessingStatus.PENDING);
+            throw new RuntimeException("Evidence processing failed: " + evidenceId, e);
+        }
+    }
+
+    // A pod killed or rebalanced between the claim and the failure handler leaves evidence PROCESSING, and the
+    // redelivered record skips it while the claim is live. Hand such rows back and publish them again.
+    @Scheduled(fixedDelayString = "${grc.evidence.worker.reclaim-interval-ms:60000}")
+    public void reclaimStaleClaims() {
+        try {
+            Integer reclaimed = transactionTemplate.execute(status -> {
+                List<Long> ids = evidenceUploadRepository.releaseStaleClaims(processingLease, reclaimBatchSize);
+                evidenceUploadRepository.findAllById(ids).forEach(evidence -> outboxService.enqueue(
+                        EvidenceEventPublisher.TOPIC, String.valueOf(evidence.getId()), new EvidenceProcessingEvent(evidence)));
+                return ids.size();
+            });
+            if (reclaimed != null && reclaimed > 0) {
+                log.warn("Re-enqueued {} evidence items whose processing claim outlived {}", reclaimed, processingLease);
+            }
+        } catch (Exception e) {
+            log.error("Reclaiming stale evidence claims failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Called once retries are exhausted, just before the record goes to the dead-letter topic
+    public void markFailed(EvidenceProcessingEvent event, Exception cause) {
+        Long evidenceId = event.getEvidenceId();
+        Throwable root = cause;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        evidenceUploadRepository.updateStatus(evidenceId, EvidenceUpload.ProcessingStatus.FAILED,
+                "Processing failed: " + root.getMessage());
+        log.error("Evidence {} marked as FAILED: {}", evidenceId, root.getMessage());
+        evidenceProcessingService.publishBatchProgress(event.getBatchId());
+    }
+
+    private void runStage(EvidenceProcessingStage stage, EvidenceUpload evidence,
+            EvidenceUpload.EvidenceType evidenceType) throws Exception {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            stage.process(evidence);
+        } catch (Exception e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("grc.evidence.processing.stage")
+                    .description("Time spent in each evidence processing stage")
+                    .tag("stage", stage.getName())
+                    .tag("evidence_type", EvidenceProcessingService.evidenceTypeTag(evidenceType))
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private Timer processingTimer(String outcome, EvidenceUpload.EvidenceType evidenceType) {
+        return Timer.builder("grc.evidence.processing")
+                .description("End-to-end evidence processing time per message")
+                .tag("evidence_type", EvidenceProcessingService.evidenceTypeTag(evidenceType))
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
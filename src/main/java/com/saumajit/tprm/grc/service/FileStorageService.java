@@ -1,16 +1,35 @@
 package com.saumajit.tprm.grc.service;
 
 
+import com.saumajit.tprm.grc.dto.StoredObject;
 import io.minio.*;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.minio.errors.ErrorResponseException;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -21,38 +40,86 @@ public class FileStorageService {
     }
 
     private final MinioClient minioClient;
+    private final MeterRegistry meterRegistry;
 
     @Value("${minio.bucket.evidence:evidence-uploads}")
     private String evidenceBucket;
 
-    public String storeFile(MultipartFile file) {
+    @Value("${minio.bucket.imports:bulk-imports}")
+    private String importBucket;
+
+    // Size of each multipart part when streaming; MinIO needs at least 5MB per part
+    @Value("${grc.evidence.upload.part-size:16MB}")
+    private DataSize partSize;
+
+    // On virtual threads the request thread count no longer limits concurrent uploads, so this does
+    @Value("${grc.storage.max-concurrent-uploads:256}")
+    private int maxConcurrentUploads;
+
+    @Value("${grc.storage.acquire-timeout:30s}")
+    private Duration acquireTimeout;
+
+    // Buckets known to exist, so uploads skip the bucketExists round-trip
+    private final Set<String> provisionedBuckets = ConcurrentHashMap.newKeySet();
+
+    private Semaphore uploadPermits;
+
+    @PostConstruct
+    void validatePartSize() {
+        if (partSize.toBytes() < ObjectWriteArgs.MIN_MULTIPART_SIZE
+                || partSize.toBytes() > ObjectWriteArgs.MAX_PART_SIZE) {
+            throw new IllegalStateException("grc.evidence.upload.part-size must be between 5MB and 5GB, was " + partSize);
+        }
+    }
+
+    // Not a field initializer: grc.storage.max-concurrent-uploads is only injected after construction
+    @PostConstruct
+    void initUploadPermits() {
+        uploadPermits = new Semaphore(maxConcurrentUploads, true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void provisionBuckets() {
+        if (!isMinioAvailable()) {
+            return;
+        }
+        for (String bucketName : Set.of(evidenceBucket, importBucket)) {
+            try {
+                ensureBucketExists(bucketName);
+            } catch (Exception e) {
+                // Not fatal: the bucket is provisioned lazily on the first upload instead
+                log.warn("Could not provision bucket {} at startup: {}", bucketName, e.getMessage());
+            }
+        }
+    }
+
+    public StoredObject storeFile(MultipartFile file) {
         return uploadFile(file, UUID.randomUUID());
     }
 
-    public String uploadFile(MultipartFile file, UUID batchId) {
+    public StoredObject uploadFile(MultipartFile file, UUID batchId) {
         if (!isMinioAvailable()) {
             log.warn("MinIO not available, skipping file upload for: {}", file.getOriginalFilename());
-            return "mock-path/" + file.getOriginalFilename();
+            return new StoredObject("mock-path/" + file.getOriginalFilename(), calculateFileHash(file), file.getSize());
         }
         try {
-            // Ensure bucket exists
-            ensureBucketExists(evidenceBucket);
-
             // Generate unique file path
             String fileName = generateFileName(file.getOriginalFilename(), batchId);
 
-            // Upload file
-            minioClient.putObject(
-                    PutObjectArgs.builder()
-                            .bucket(evidenceBucket)
-                            .object(fileName)
-                            .stream(file.getInputStream(), file.getSize(), -1)
-                            .contentType(file.getContentType())
-                            .build()
-            );
+            // Upload file, hashing the bytes as MinIO reads them
+            MessageDigest digest = sha256();
+            putObject(evidenceBucket, file.getSize(), () -> {
+                digest.reset();
+                return PutObjectArgs.builder()
+                        .bucket(evidenceBucket)
+                        .object(fileName)
+                        .stream(new DigestInputStream(file.getInputStream(), digest), file.getSize(), -1)
+                        .contentType(file.getContentType())
+                        .build();
+            });
 
             log.info("File uploaded successfully: {}", fileName);
-            return fileName;
+            return new StoredObject(fileName, HexFormat.of().formatHex(digest.digest()), file.getSize());
 
         } catch (Exception e) {
             log.error("Error uploading file: {}", e.getMessage(), e);
@@ -60,27 +127,133 @@ public class FileStorageService {
         }
     }
 
-    public String calculateFileHash(MultipartFile file) {
+    // Streams a raw request body straight into multipart parts; size is -1 when the client sent no Content-Length
+    public StoredObject uploadStream(InputStream inputStream, String originalFileName, String contentType,
+            long size, UUID batchId) {
+        if (!isMinioAvailable()) {
+            log.warn("MinIO not available, skipping stream upload for: {}", originalFileName);
+            return new StoredObject("mock-path/" + originalFileName, null, size);
+        }
         try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = md.digest(file.getBytes());
+            String fileName = generateFileName(originalFileName, batchId);
+            MessageDigest digest = sha256();
 
-            StringBuilder sb = new StringBuilder();
-            for (byte b : hashBytes) {
-                sb.append(String.format("%02x", b));
+            // The body can only be read once, so a vanished bucket is not retried here
+            ensureBucketExists(evidenceBucket);
+            acquireUploadPermit();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "error";
+            try {
+                minioClient.putObject(
+                        PutObjectArgs.builder()
+                                .bucket(evidenceBucket)
+                                .object(fileName)
+                                .stream(new DigestInputStream(inputStream, digest), size, partSize.toBytes())
+                                .contentType(contentType)
+                                .build()
+                );
+                outcome = "success";
+            } catch (ErrorResponseException e) {
+                if ("NoSuchBucket".equals(e.errorResponse().code())) {
+                    provisionedBuckets.remove(evidenceBucket);
+                }
+                throw e;
+            } finally {
+                uploadPermits.release();
+                sample.stop(putTimer(evidenceBucket, outcome));
             }
-            return sb.toString();
+
+            log.info("File streamed successfully: {}", fileName);
+            // Chunked bodies carry no length up front, so read it back from the stored object
+            long storedSize = size >= 0 ? size : getFileSize(fileName);
+            uploadedBytes(evidenceBucket).record(storedSize);
+            return new StoredObject(fileName, HexFormat.of().formatHex(digest.digest()), storedSize);
+
+        } catch (Exception e) {
+            log.error("Error streaming file: {}", e.getMessage(), e);
+            throw new RuntimeException("File upload failed", e);
+        }
+    }
+
+    public String storeImportFile(MultipartFile file, UUID jobId) {
+        if (!isMinioAvailable()) {
+            throw new IllegalStateException("Object storage is not available for bulk import files");
+        }
+        try {
+            String fileName = String.format("imports/%s.csv", jobId);
+
+            putObject(importBucket, file.getSize(), () -> PutObjectArgs.builder()
+                    .bucket(importBucket)
+                    .object(fileName)
+                    .stream(file.getInputStream(), file.getSize(), -1)
+                    .contentType("text/csv")
+                    .build());
+
+            log.info("Import file spooled successfully: {}", fileName);
+            return fileName;
+
+        } catch (Exception e) {
+            log.error("Error spooling import file: {}", e.getMessage(), e);
+            throw new RuntimeException("Import file upload failed", e);
+        }
+    }
+
+    public String calculateFileHash(MultipartFile file) {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(digest.digest());
         } catch (Exception e) {
             log.error("Error calculating file hash: {}", e.getMessage(), e);
             throw new RuntimeException("Hash calculation failed", e);
         }
     }
 
+    public long getFileSize(String fileName) {
+        try {
+            StatObjectResponse stat = minioClient.statObject(
+                    StatObjectArgs.builder()
+                            .bucket(evidenceBucket)
+                            .object(fileName)
+                            .build()
+            );
+            return stat.size();
+        } catch (Exception e) {
+            log.error("Error reading file metadata: {}", e.getMessage(), e);
+            throw new RuntimeException("File metadata lookup failed", e);
+        }
+    }
+
+    public void deleteFile(String fileName) {
+        if (!isMinioAvailable()) {
+            return;
+        }
+        try {
+            minioClient.removeObject(
+                    RemoveObjectArgs.builder()
+                            .bucket(evidenceBucket)
+                            .object(fileName)
+                            .build()
+            );
+        } catch (Exception e) {
+            log.error("Error deleting file: {}", e.getMessage(), e);
+            throw new RuntimeException("File delete failed", e);
+        }
+    }
+
     public InputStream downloadFile(String fileName) {
+        return downloadObject(evidenceBucket, fileName);
+    }
+
+    public InputStream downloadImportFile(String fileName) {
+        return downloadObject(importBucket, fileName);
+    }
+
+    private InputStream downloadObject(String bucketName, String fileName) {
         try {
             return minioClient.getObject(
                     GetObjectArgs.builder()
-                            .bucket(evidenceBucket)
+                            .bucket(bucketName)
                             .object(fileName)
                             .build()
             );
@@ -90,9 +263,78 @@ public class FileStorageService {
         }
     }
 
+    // Args are rebuilt on retry because the first attempt may already have consumed the stream
+    private void putObject(String bucketName, long size, Callable<PutObjectArgs> args) throws Exception {
+        ensureBucketExists(bucketName);
+        acquireUploadPermit();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            minioClient.putObject(args.call());
+            outcome = "success";
+        } catch (ErrorResponseException e) {
+            if (!"NoSuchBucket".equals(e.errorResponse().code())) {
+                throw e;
+            }
+            // Bucket was removed behind our back: forget it, provision it again and retry once
+            log.warn("Bucket {} disappeared, re-provisioning", bucketName);
+            provisionedBuckets.remove(bucketName);
+            ensureBucketExists(bucketName);
+            minioClient.putObject(args.call());
+            outcome = "success";
+        } finally {
+            uploadPermits.release();
+            sample.stop(putTimer(bucketName, outcome));
+        }
+        uploadedBytes(bucketName).record(size);
+    }
+
+    // Fails the upload instead of queueing without limit when MinIO cannot keep up
+    private void acquireUploadPermit() throws InterruptedException {
+        if (!uploadPermits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Timed out waiting for an object storage upload slot");
+        }
+    }
+
+    private Timer putTimer(String bucketName, String outcome) {
+        return Timer.builder("grc.storage.put")
+                .description("Object storage putObject time, including bucket re-provisioning retries")
+                .tag("bucket", bucketName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary uploadedBytes(String bucketName) {
+        return DistributionSummary.builder("grc.storage.uploaded")
+                .description("Bytes written to object storage per object")
+                .baseUnit("bytes")
+                .tag("bucket", bucketName)
+                .register(meterRegistry);
+    }
+
     private void ensureBucketExists(String bucketName) throws Exception {
+        if (provisionedBuckets.contains(bucketName)) {
+            return;
+        }
         if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build())) {
-            minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+            try {
+                minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+            } catch (ErrorResponseException e) {
+                // Another pod or thread created it first
+                if (!"BucketAlreadyOwnedByYou".equals(e.errorResponse().code())) {
+                    throw e;
+                }
+            }
+        }
+        provisionedBuckets.add(bucketName);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
@@ -0,0 +1,114 @@
+package com.saumajit.tprm.grc.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+
+// Aho-Corasick automaton over lowercase keywords: one pass over the text finds every keyword,
+// so matching cost grows with the text, not with the number of keywords
+final class KeywordMatcher {
+
+    private record Output(int length, Long categoryId) {
+    }
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final List<List<Output>> outputs = new ArrayList<>();
+    private int[] failure;
+
+    KeywordMatcher(Map<String, List<Long>> categoriesByKeyword) {
+        newNode();
+        categoriesByKeyword.forEach((keyword, categoryIds) -> {
+            String normalized = keyword.trim().toLowerCase(Locale.ROOT);
+            if (normalized.isEmpty()) {
+                return;
+            }
+            int node = 0;
+            for (int i = 0; i < normalized.length(); i++) {
+                char c = normalized.charAt(i);
+                Integer child = transitions.get(node).get(c);
+                if (child == null) {
+                    child = newNode();
+                    transitions.get(node).put(c, child);
+                }
+                node = child;
+            }
+            for (Long categoryId : categoryIds) {
+                addOutput(node, new Output(normalized.length(), categoryId));
+            }
+        });
+        buildFailureLinks();
+    }
+
+    boolean isEmpty() {
+        return transitions.get(0).isEmpty();
+    }
+
+    // Hits per category, counting whole-word keyword occurrences only
+    Map<Long, Integer> countMatches(String text) {
+        Map<Long, Integer> hits = new HashMap<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int node = 0;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            while (node != 0 && !transitions.get(node).containsKey(c)) {
+                node = failure[node];
+            }
+            node = transitions.get(node).getOrDefault(c, 0);
+            for (Output output : outputs.get(node)) {
+                if (isWordBoundary(lower, i - output.length()) && isWordBoundary(lower, i + 1)) {
+                    hits.merge(output.categoryId(), 1, Integer::sum);
+                }
+            }
+        }
+        return hits;
+    }
+
+    // Most hits wins; ties go to the lowest category id so the choice is stable across runs
+    Optional<Long> bestCategory(String text) {
+        return countMatches(text).entrySet().stream()
+                .max(Map.Entry.<Long, Integer>comparingByValue()
+                        .thenComparing(Map.Entry.<Long, Integer>comparingByKey().reversed()))
+                .map(Map.Entry::getKey);
+    }
+
+    // Keywords differing only in case share a node, so each category is recorded once per node
+    private void addOutput(int node, Output output) {
+        if (!outputs.get(node).contains(output)) {
+            outputs.get(node).add(output);
+        }
+    }
+
+    private static boolean isWordBoundary(String text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    private int newNode() {
+        transitions.add(new HashMap<>());
+        outputs.add(new ArrayList<>());
+        return transitions.size() - 1;
+    }
+
+    private void buildFailureLinks() {
+        failure = new int[transitions.size()];
+        Queue<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            transitions.get(node).forEach((c, child) -> {
+                int fallback = failure[node];
+                while (fallback != 0 && !transitions.get(fallback).containsKey(c)) {
+                    fallback = failure[fallback];
+                }
+                Integer target = transitions.get(fallback).get(c);
+                failure[child] = target != null && target != child ? target : 0;
+                // Inherit shorter keywords that end at the same position
+                outputs.get(failure[child]).forEach(output -> addOutput(child, output));
+                queue.add(child);
+            });
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.saumajit.tprm.grc.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saumajit.tprm.grc.dto.EvidenceProcessingEvent;
+import com.saumajit.tprm.grc.model.OutboxEvent;
+import com.saumajit.tprm.grc.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "spring.kafka.bootstrap-servers")
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final EvidenceEventPublisher evidenceEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${grc.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${grc.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    // Must outlast send-timeout-ms, or another relay picks the batch up again while it is still being sent
+    @Value("${grc.outbox.claim-lease:1m}")
+    private Duration claimLease;
+
+    @Value("${grc.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${grc.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${grc.outbox.retry-backoff:1s}")
+    private Duration retryBackoff;
+
+    @Value("${grc.outbox.max-retry-backoff:5m}")
+    private Duration maxRetryBackoff;
+
+    // Linger between polls; a full batch is drained again straight away until the outbox is caught up
+    @Scheduled(fixedDelayString = "${grc.outbox.linger-ms:50}")
+    public void relay() {
+        try {
+            int processed;
+            do {
+                processed = relayBatch();
+            } while (processed == batchSize);
+        } catch (Exception e) {
+            log.error("Outbox relay failed, batch will be retried: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${grc.outbox.cleanup-interval-ms:3600000}")
+    public void purgePublished() {
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+
+    // Returns the number of rows processed, whether they were acknowledged or not.
+    // Claiming and recording outcomes are two short transactions, so no connection is held while the
+    // broker acknowledges. A relay that stops in between leaves its rows to be sent again once the lease
+    // runs out, a duplicate the idempotent consumers absorb.
+    private int relayBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            List<OutboxEvent> locked = outboxEventRepository.lockUnpublished(batchSize, LocalDateTime.now());
+            if (!locked.isEmpty()) {
+                outboxEventRepository.lease(locked.stream().map(OutboxEvent::getId).toList(),
+                        LocalDateTime.now().plus(claimLease));
+            }
+            return locked;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        // Send the whole batch before waiting so the producer can pack records together
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(send(event));
+        }
+        try {
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Outcomes are read per row below
+        }
+
+        // Only acknowledged rows are marked published; the rest are retried on their own schedule.
+        // A timed-out send may still land, which is a duplicate the idempotent consumers absorb.
+        List<Long> acked = new ArrayList<>(batch.size());
+        Map<Long, Throwable> failed = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            CompletableFuture<?> sent = sends.get(i);
+            if (sent.state() == CompletableFuture.State.SUCCESS) {
+                acked.add(batch.get(i).getId());
+            } else {
+                failed.put(batch.get(i).getId(), sent.state() == CompletableFuture.State.FAILED
+                        ? sent.exceptionNow()
+                        : new TimeoutException("No broker acknowledgement within " + sendTimeoutMs + " ms"));
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (!acked.isEmpty()) {
+                outboxEventRepository.markPublished(acked, now);
+            }
+            outboxEventRepository.findAllById(failed.keySet())
+                    .forEach(event -> recordFailure(event, failed.get(event.getId()), now));
+        });
+        return batch.size();
+    }
+
+    // Runs on a managed entity, so the change is flushed with the outcome transaction
+    private void recordFailure(OutboxEvent event, Throwable error, LocalDateTime now) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(error.toString());
+        if (attempts >= maxAttempts) {
+            event.setParkedAt(now);
+            log.error("Parked outbox event {} for topic {} after {} attempts: {}",
+                    event.getId(), event.getTopic(), attempts, error.toString());
+            Counter.builder("grc.outbox.parked")
+                    .description("Outbox events given up on after the maximum number of send attempts")
+                    .tag("topic", event.getTopic())
+                    .register(meterRegistry)
+                    .increment();
+        } else {
+            // Exponential backoff so a broker outage does not burn through the attempts in seconds
+            Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+            event.setNextAttemptAt(now.plus(backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff));
+            log.warn("Outbox event {} for topic {} failed attempt {}: {}",
+                    event.getId(), event.getTopic(), attempts, error.toString());
+        }
+    }
+
+    private CompletableFuture<?> send(OutboxEvent event) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Object payload = objectMapper.readValue(event.getPayload(), Class.forName(event.getPayloadType()));
+            CompletableFuture<?> sent;
+            String evidenceType = "none";
+            if (payload instanceof EvidenceProcessingEvent evidenceEvent) {
+                evidenceType = EvidenceProcessingService.evidenceTypeTag(evidenceEvent.getEvidenceType());
+                sent = evidenceEventPublisher.publish(evidenceEvent);
+            } else {
+                sent = kafkaTemplate.send(event.getTopic(), event.getMessageKey(), payload);
+            }
+            // Stopped on broker ack, so this is the full send latency rather than the time to hand off to the producer
+            String tag = evidenceType;
+            return sent.whenComplete((result, e) -> sample.stop(sendTimer(event.getTopic(), tag, e == null ? "success" : "error")));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Timer sendTimer(String topic, String evidenceType, String outcome) {
+        return Timer.builder("grc.outbox.send")
+                .description("Time from outbox relay send to broker acknowledgement")
+                .tag("topic", topic)
+                .tag("evidence_type", evidenceType)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
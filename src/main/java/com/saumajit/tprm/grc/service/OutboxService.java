@@ -0,0 +1,33 @@
+package com.saumajit.tprm.grc.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saumajit.tprm.grc.model.OutboxEvent;
+import com.saumajit.tprm.grc.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    // MANDATORY: the event must commit or roll back together with the business write that caused it
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String topic, String key, Object payload) {
+        try {
+            OutboxEvent event = new OutboxEvent();
+            event.setTopic(topic);
+            event.setMessageKey(key);
+            event.setPayloadType(payload.getClass().getName());
+            event.setPayload(objectMapper.writeValueAsString(payload));
+            outboxEventRepository.save(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize outbox payload for topic " + topic, e);
+        }
+    }
+}
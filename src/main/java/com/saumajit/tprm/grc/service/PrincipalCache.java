@@ -0,0 +1,52 @@
+package com.saumajit.tprm.grc.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// Local principal cache for the JWT filter; entries expire on their own and are dropped when the user changes.
+// Bulk JPQL updates skip the entity listener, so one that changes a role or disables a user must publish
+// UserChangedEvent itself.
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    @Value("${grc.auth.principal-cache.ttl:5m}")
+    private Duration ttl;
+
+    @Value("${grc.auth.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<String, AuthenticatedUser> principals;
+
+    @PostConstruct
+    void initCache() {
+        principals = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public AuthenticatedUser get(String usernameOrEmail, Function<String, AuthenticatedUser> loader) {
+        return principals.get(usernameOrEmail, loader);
+    }
+
+    // Runs after the user update commits, so a concurrent request cannot re-cache the old row
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.userId());
+    }
+
+    public void evict(Long userId) {
+        // A user can be cached under both username and email, so match on id
+        principals.asMap().values().removeIf(user -> user.id().equals(userId));
+        log.debug("Evicted cached principal for user {}", userId);
+    }
+}
@@ -0,0 +1,196 @@
+package com.saumajit.tprm.grc.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.saumajit.tprm.grc.config.ProgressRedisRelay;
+import com.saumajit.tprm.grc.dto.ProgressUpdate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Fans progress out to SSE watchers; with Redis configured every pod sees every update
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProgressBus {
+
+    private final ObjectProvider<ProgressRedisRelay> redisRelay;
+
+    @Value("${grc.progress.sse-timeout:30m}")
+    private Duration sseTimeout;
+
+    @Value("${grc.progress.snapshot-ttl:10m}")
+    private Duration snapshotTtl;
+
+    private final Map<String, Set<SseEmitter>> watchers = new ConcurrentHashMap<>();
+
+    // Last update per channel, so new watchers start without touching the database
+    private Cache<String, ProgressUpdate> latest;
+
+    // Single dispatcher keeps updates in order and off the worker threads
+    private ExecutorService dispatcher;
+
+    @PostConstruct
+    void init() {
+        latest = Caffeine.newBuilder()
+                .expireAfterWrite(snapshotTtl)
+                .maximumSize(10_000)
+                .build();
+        dispatcher = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("progress-dispatch-", 0).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdown();
+        watchers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+    }
+
+    public SseEmitter subscribe(String channel, Supplier<ProgressUpdate> snapshot) {
+        // Registered before the snapshot is read, so an update landing in between is delivered rather than lost
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        String watcherId = UUID.randomUUID().toString();
+        AtomicBoolean alreadyWatched = new AtomicBoolean();
+        watchers.compute(channel, (key, emitters) -> {
+            Set<SseEmitter> registered = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            alreadyWatched.set(!registered.isEmpty());
+            registered.add(emitter);
+            return registered;
+        });
+        watchRemotely(channel, watcherId);
+        emitter.onCompletion(() -> unsubscribe(channel, emitter, watcherId));
+        emitter.onTimeout(() -> unsubscribe(channel, emitter, watcherId));
+        emitter.onError(e -> unsubscribe(channel, emitter, watcherId));
+
+        ProgressUpdate current;
+        try {
+            // Publishers skip channels nobody watches, so the cached update is only current while this one was watched
+            current = alreadyWatched.get() ? latest.getIfPresent(channel) : null;
+            if (current == null) {
+                current = snapshot.get();
+            }
+        } catch (RuntimeException e) {
+            // Unknown job or batch: the emitter was never handed out, so its callbacks will not fire
+            unsubscribe(channel, emitter, watcherId);
+            throw e;
+        }
+
+        // Completes the emitter straight away when the job or batch has already finished
+        ProgressUpdate initial = current;
+        dispatcher.execute(() -> {
+            ProgressUpdate newest = advance(initial) ? initial : latest.getIfPresent(channel);
+            send(emitter, newest != null ? newest : initial);
+        });
+        return emitter;
+    }
+
+    // Lets publishers skip building an update when no pod has a watcher for the channel
+    public boolean hasWatchers(String channel) {
+        if (watchers.containsKey(channel)) {
+            return true;
+        }
+        ProgressRedisRelay relay = redisRelay.getIfAvailable();
+        if (relay == null) {
+            return false;
+        }
+        try {
+            return relay.hasWatchers(channel);
+        } catch (Exception e) {
+            // A needless update is cheaper than a watcher that stops hearing anything
+            log.warn("Could not check watchers of {}, publishing anyway: {}", channel, e.getMessage());
+            return true;
+        }
+    }
+
+    public void publish(ProgressUpdate update) {
+        ProgressRedisRelay relay = redisRelay.getIfAvailable();
+        if (relay != null) {
+            try {
+                // Comes back through deliver() on every pod, this one included
+                relay.broadcast(update);
+                return;
+            } catch (Exception e) {
+                log.warn("Could not broadcast progress for {}, delivering locally: {}", update.getChannel(), e.getMessage());
+            }
+        }
+        deliver(update);
+    }
+
+    public void deliver(ProgressUpdate update) {
+        dispatcher.execute(() -> {
+            if (!advance(update)) {
+                return;
+            }
+            Set<SseEmitter> emitters = watchers.get(update.getChannel());
+            if (emitters != null) {
+                emitters.forEach(emitter -> send(emitter, update));
+            }
+        });
+    }
+
+    // Dispatcher thread only. Updates are built on worker threads and other pods, so they can arrive out of
+    // order; an older one is dropped rather than stepping watchers backwards. A terminal update always goes out.
+    private boolean advance(ProgressUpdate update) {
+        ProgressUpdate previous = latest.getIfPresent(update.getChannel());
+        if (previous != null && !update.isLast()
+                && (previous.isLast() || update.getSequence() < previous.getSequence())) {
+            return false;
+        }
+        latest.put(update.getChannel(), update);
+        return true;
+    }
+
+    private void watchRemotely(String channel, String watcherId) {
+        ProgressRedisRelay relay = redisRelay.getIfAvailable();
+        if (relay != null) {
+            try {
+                relay.watch(channel, watcherId, sseTimeout);
+            } catch (Exception e) {
+                log.warn("Could not register watcher of {} with Redis: {}", channel, e.getMessage());
+            }
+        }
+    }
+
+    private void send(SseEmitter emitter, ProgressUpdate update) {
+        try {
+            emitter.send(SseEmitter.event().name("progress").data(update.getPayload()));
+            if (update.isLast()) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the completion callback unregisters the emitter
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void unsubscribe(String channel, SseEmitter emitter, String watcherId) {
+        watchers.computeIfPresent(channel, (key, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+        ProgressRedisRelay relay = redisRelay.getIfAvailable();
+        if (relay != null) {
+            try {
+                relay.unwatch(channel, watcherId);
+            } catch (Exception e) {
+                // The entry ages out when the emitter would have timed out
+                log.debug("Could not unregister watcher of {} from Redis: {}", channel, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.saumajit.tprm.grc.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Fills the reference-data caches before the first form load; goes through the proxy so @Cacheable applies
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataWarmup {
+
+    private final EvidenceCategoryService evidenceCategoryService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            evidenceCategoryService.getAllCategories()
+                    .forEach(category -> evidenceCategoryService.findByName(category.getName()));
+        } catch (Exception e) {
+            log.warn("Reference data warm-up failed, caches fill on first use: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.saumajit.tprm.grc.service;
+
+import com.saumajit.tprm.grc.model.EvidenceUpload;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class StoredObjectVerificationStage implements EvidenceProcessingStage {
+
+    private final FileStorageService fileStorageService;
+
+    @Override
+    public String getName() {
+        return "verify";
+    }
+
+    @Override
+    public void process(EvidenceUpload evidence) {
+        long storedSize = fileStorageService.getFileSize(evidence.getFilePath());
+        if (evidence.getFileSize() != null && storedSize != evidence.getFileSize()) {
+            throw new IllegalStateException(String.format(
+                    "Stored object %s has %d bytes, expected %d", evidence.getFilePath(), storedSize, evidence.getFileSize()));
+        }
+    }
+}
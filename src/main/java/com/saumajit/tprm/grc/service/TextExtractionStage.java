@@ -0,0 +1,116 @@
+package com.saumajit.tprm.grc.service;
+
+import com.saumajit.tprm.grc.model.EvidenceUpload;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+
+@Component
+@Order(10)
+@RequiredArgsConstructor
+@Slf4j
+public class TextExtractionStage implements EvidenceProcessingStage {
+
+    private final FileStorageService fileStorageService;
+
+    @Value("${grc.evidence.extraction.max-chars:200000}")
+    private int maxChars;
+
+    // 0 means one extraction per core; parsing is CPU bound while the other stages mostly wait on I/O
+    @Value("${grc.evidence.extraction.max-parallel:0}")
+    private int maxParallel;
+
+    private Semaphore extractionPermits;
+
+    @PostConstruct
+    void initPermits() {
+        int permits = maxParallel > 0 ? maxParallel : Runtime.getRuntime().availableProcessors();
+        extractionPermits = new Semaphore(permits);
+    }
+
+    @Override
+    public String getName() {
+        return "extract";
+    }
+
+    @Override
+    public void process(EvidenceUpload evidence) throws Exception {
+        String contentType = evidence.getContentType() != null ? evidence.getContentType() : "";
+        boolean pdf = contentType.equals("application/pdf")
+                || evidence.getOriginalFileName().toLowerCase(Locale.ROOT).endsWith(".pdf");
+        if (!pdf && !contentType.startsWith("text/")) {
+            return;
+        }
+
+        extractionPermits.acquire();
+        try {
+            String text = pdf ? extractPdf(evidence) : extractPlainText(evidence);
+            if (text != null) {
+                evidence.setExtractedText(text);
+                log.debug("Extracted {} characters from evidence {}", text.length(), evidence.getId());
+            }
+        } finally {
+            extractionPermits.release();
+        }
+    }
+
+    // PDFs need random access, so the object is spooled to a temp file and parsed from disk, never held on the heap
+    private String extractPdf(EvidenceUpload evidence) throws IOException {
+        Path spool = Files.createTempFile("evidence-", ".pdf");
+        try {
+            try (InputStream in = fileStorageService.downloadFile(evidence.getFilePath())) {
+                Files.copy(in, spool, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            try (PDDocument document = Loader.loadPDF(spool.toFile(), IOUtils.createTempFileOnlyStreamCache())) {
+                PDFTextStripper stripper = new PDFTextStripper();
+                StringBuilder text = new StringBuilder();
+                // Page by page so extraction stops as soon as the cap is reached
+                for (int page = 1; page <= document.getNumberOfPages() && text.length() < maxChars; page++) {
+                    stripper.setStartPage(page);
+                    stripper.setEndPage(page);
+                    text.append(stripper.getText(document));
+                }
+                return text.length() > maxChars ? text.substring(0, maxChars) : text.toString();
+            } catch (IOException e) {
+                // Encrypted or malformed documents will not parse on a retry either
+                log.warn("Could not extract text from evidence {}: {}", evidence.getId(), e.getMessage());
+                return null;
+            }
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    private String extractPlainText(EvidenceUpload evidence) throws IOException {
+        try (Reader reader = new BufferedReader(new InputStreamReader(
+                fileStorageService.downloadFile(evidence.getFilePath()), StandardCharsets.UTF_8))) {
+            char[] buffer = new char[8192];
+            StringBuilder text = new StringBuilder();
+            int read;
+            while (text.length() < maxChars && (read = reader.read(buffer, 0, Math.min(buffer.length, maxChars - text.length()))) != -1) {
+                text.append(buffer, 0, read);
+            }
+            return text.toString();
+        }
+    }
+}
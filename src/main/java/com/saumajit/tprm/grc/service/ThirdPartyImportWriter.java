@@ -0,0 +1,137 @@
+package com.saumajit.tprm.grc.service;
+
+import com.saumajit.tprm.grc.dto.ThirdPartyImportChunk;
+import com.saumajit.tprm.grc.dto.ThirdPartyImportDTO;
+import com.saumajit.tprm.grc.model.BulkImportJob;
+import com.saumajit.tprm.grc.model.ThirdParty;
+import com.saumajit.tprm.grc.repository.BulkImportJobRepository;
+import com.saumajit.tprm.grc.repository.ThirdPartyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ThirdPartyImportWriter {
+
+    private final ThirdPartyRepository thirdPartyRepository;
+    private final BulkImportJobRepository bulkImportJobRepository;
+    private final VendorIdentityIndex vendorIdentityIndex;
+
+    // Duplicates are rows whose name already exists; domain collisions are new names whose domain belongs to
+    // another vendor. Both are counted as failed on the job.
+    public record ChunkOutcome(int inserted, int duplicates, int domainCollisions) {
+    }
+
+    // One transaction per chunk: in-memory dedup, one name lookup, a domain lookup for identity index hits,
+    // one JDBC batch insert and an atomic progress update. The caller loads the identity index first, outside
+    // this transaction. Empty when an earlier delivery of the chunk already committed, or when the job failed:
+    // its remaining chunks are dropped, but one already being written when the job fails still commits.
+    @Transactional
+    public Optional<ChunkOutcome> writeChunk(ThirdPartyImportChunk chunk) {
+        if (bulkImportJobRepository.existsByJobIdAndStatus(chunk.getJobId(), BulkImportJob.JobStatus.FAILED)) {
+            return Optional.empty();
+        }
+        if (bulkImportJobRepository.claimChunk(chunk.getJobId(), chunk.getChunkIndex(), false) == 0) {
+            return Optional.empty();
+        }
+        List<ThirdPartyImportDTO> rows = chunk.getRows();
+
+        // Collapse duplicates inside the chunk itself, first occurrence of a name or domain wins
+        Map<String, ThirdPartyImportDTO> byName = new LinkedHashMap<>();
+        Set<String> chunkDomains = new HashSet<>();
+        int domainCollisions = 0;
+        for (ThirdPartyImportDTO row : rows) {
+            String name = VendorIdentityIndex.normalizeName(row.getCompanyName());
+            if (byName.containsKey(name)) {
+                continue;
+            }
+            if (row.getDomain() != null && !chunkDomains.add(VendorIdentityIndex.normalizeDomain(row.getDomain()))) {
+                domainCollisions++;
+                continue;
+            }
+            byName.put(name, row);
+        }
+
+        // Concurrent inserts of the same new name are left to ON CONFLICT and the unique index
+        byName.keySet().removeAll(thirdPartyRepository.findExistingCompanyNames(byName.keySet()));
+
+        // An index hit may be a vendor deleted since the index loaded, so only confirmed domains are skipped
+        Map<String, String> candidateDomains = new HashMap<>();
+        byName.forEach((name, row) -> {
+            if (row.getDomain() != null) {
+                String domain = VendorIdentityIndex.normalizeDomain(row.getDomain());
+                if (vendorIdentityIndex.mayContainDomain(domain)) {
+                    candidateDomains.put(domain, name);
+                }
+            }
+        });
+        for (String domain : thirdPartyRepository.findExistingDomains(candidateDomains.keySet())) {
+            byName.remove(candidateDomains.get(domain));
+            domainCollisions++;
+        }
+
+        List<ThirdParty> newRows = new ArrayList<>(byName.size());
+        byName.values().forEach(row -> newRows.add(toThirdParty(row)));
+
+        int inserted = thirdPartyRepository.batchInsert(newRows);
+        vendorIdentityIndex.addAfterCommit(newRows);
+        int duplicates = rows.size() - inserted - domainCollisions;
+        if (duplicates > 0) {
+            log.debug("Skipped {} duplicate companies in chunk {} of job {}",
+                    duplicates, chunk.getChunkIndex(), chunk.getJobId());
+        }
+        if (domainCollisions > 0) {
+            log.info("Skipped {} companies in chunk {} of job {} whose domain belongs to another vendor",
+                    domainCollisions, chunk.getChunkIndex(), chunk.getJobId());
+        }
+
+        bulkImportJobRepository.recordChunkProgress(chunk.getJobId(), rows.size() + chunk.getRejectedRows(),
+                inserted, duplicates + domainCollisions + chunk.getRejectedRows(), domainCollisions);
+        return Optional.of(new ChunkOutcome(inserted, duplicates, domainCollisions));
+    }
+
+    // False when the chunk was already recorded, as written or as failed
+    @Transactional
+    public boolean recordFailedChunk(ThirdPartyImportChunk chunk) {
+        if (bulkImportJobRepository.claimChunk(chunk.getJobId(), chunk.getChunkIndex(), true) == 0) {
+            return false;
+        }
+        int processed = chunk.getRows().size() + chunk.getRejectedRows();
+        bulkImportJobRepository.recordChunkProgress(chunk.getJobId(), processed, 0, processed, 0);
+        return true;
+    }
+
+    public boolean completeIfFinished(UUID jobId) {
+        return bulkImportJobRepository.completeIfAllChunksDone(jobId,
+                BulkImportJob.JobStatus.PROCESSING, BulkImportJob.JobStatus.COMPLETED) > 0;
+    }
+
+    private ThirdParty toThirdParty(ThirdPartyImportDTO row) {
+        ThirdParty thirdParty = new ThirdParty();
+        thirdParty.setCompanyName(row.getCompanyName());
+        thirdParty.setDomain(row.getDomain());
+        thirdParty.setIndustry(row.getIndustry());
+        thirdParty.setEmployeeCount(row.getEmployeeCount());
+        thirdParty.setRevenue(row.getRevenue());
+        thirdParty.setContactEmail(row.getContactEmail());
+        thirdParty.setContactPhone(row.getContactPhone());
+        if (row.getStatus() != null) {
+            thirdParty.setStatus(ThirdParty.Status.valueOf(row.getStatus()));
+        }
+        thirdParty.setRiskScore(ThirdPartyService.calculateRiskScore(thirdParty));
+        return thirdParty;
+    }
+}
@@ -1,24 +1,44 @@
 package com.saumajit.tprm.grc.service;
 
+import com.saumajit.tprm.grc.config.TrigramSupport;
+import com.saumajit.tprm.grc.dto.ProgressUpdate;
+import com.saumajit.tprm.grc.dto.ThirdPartyImportChunk;
+import com.saumajit.tprm.grc.dto.ThirdPartyImportDTO;
 import com.saumajit.tprm.grc.model.BulkImportJob;
 import com.saumajit.tprm.grc.model.ThirdParty;
 import com.saumajit.tprm.grc.repository.BulkImportJobRepository;
 import com.saumajit.tprm.grc.repository.ThirdPartyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.BufferedReader;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -26,41 +46,65 @@ import java.util.UUID;
 @ConditionalOnProperty(name = "spring.kafka.bootstrap-servers")
 public class ThirdPartyService {
 
+    // Package-private, with toImportRow, for the JMH benchmarks in src/jmh/java
+    static final CSVFormat IMPORT_CSV_FORMAT = CSVFormat.Builder.create()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreEmptyLines(true)
+            .setTrim(true)
+            .build();
+
     private final ThirdPartyRepository thirdPartyRepository;
     private final BulkImportJobRepository bulkImportJobRepository;
+    private final FileStorageService fileStorageService;
+    private final ThirdPartyImportWriter importWriter;
+    private final VendorIdentityIndex vendorIdentityIndex;
+    private final TrigramSupport trigramSupport;
+    private final OutboxService outboxService;
+    private final ProgressBus progressBus;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${grc.import.chunk-size:500}")
+    private int chunkSize;
+
+    // Must outlast the time between two checkpoints, or a live split is taken over and its chunks sent twice
+    @Value("${grc.import.split-lease:10m}")
+    private Duration splitLease;
+
+    @Value("${grc.import.split-checkpoint-chunks:20}")
+    private int splitCheckpointChunks;
+
+    @Value("${grc.import.reclaim-batch-size:20}")
+    private int reclaimBatchSize;
+
+    @Value("${grc.search.max-page-size:100}")
+    private int maxSearchPageSize;
 
     @Transactional
     public UUID startBulkImport(MultipartFile file, Long userId) {
         try {
             UUID jobId = UUID.randomUUID();
 
-            // Parse CSV safely with try-with-resources
-            List<CSVRecord> records;
-            CSVFormat csvFormat = CSVFormat.Builder.create()
-                    .setHeader()
-                    .setSkipHeaderRecord(true)
-                    .build();
-
-            try (CSVParser parser = csvFormat.parse(new InputStreamReader(file.getInputStream()))) {
-                records = parser.getRecords();
-            }
+            // Spool the upload to object storage; rows are parsed lazily by the consumer
+            String sourceFilePath = fileStorageService.storeImportFile(file, jobId);
 
-
-            // Create import job
+            // Create import job, total records fill in as the file is streamed
             BulkImportJob job = new BulkImportJob();
             job.setJobId(jobId);
             job.setFileName(file.getOriginalFilename());
-            job.setTotalRecords(records.size());
+            job.setSourceFilePath(sourceFilePath);
+            job.setTotalRecords(0);
             job.setStartedBy(userId);
-            job.setStatus(BulkImportJob.JobStatus.PROCESSING);
+            job.setStatus(BulkImportJob.JobStatus.PENDING);
 
             bulkImportJobRepository.save(job);
 
-            // Send for async processing
-            kafkaTemplate.send("tprm-bulk-import", jobId.toString());
+            // Queue for async processing; the outbox row commits with the job
+            outboxService.enqueue("tprm-bulk-import", jobId.toString(), jobId.toString());
 
-            log.info("Started bulk import job: {} with {} records", jobId, records.size());
+            log.info("Started bulk import job: {} from file: {}", jobId, sourceFilePath);
             return jobId;
 
         } catch (Exception e) {
@@ -69,87 +113,291 @@ public class ThirdPartyService {
         }
     }
 
-    @KafkaListener(topics = "tprm-bulk-import")
-    @Transactional
+    // Splits the spooled file into keyed chunk messages so consumers on every pod can share the work.
+    // A failed split releases its claim and is retried by the import error handler, resuming from the last
+    // checkpoint; once retries run out recoverFailedSplit fails the job.
+    @KafkaListener(topics = "tprm-bulk-import", containerFactory = "importListenerContainerFactory")
     public void processBulkImport(String jobIdString) {
         UUID jobId = UUID.fromString(jobIdString);
+
+        // Claiming makes a redelivered job message a no-op while the split is live. A split whose pod
+        // stopped is taken over here once its lease is stale, or re-enqueued by reclaimStaleSplits.
+        if (bulkImportJobRepository.claimSplit(jobId, seconds(splitLease)) == 0) {
+            log.info("Bulk import job {} is not pending, skipping", jobId);
+            return;
+        }
         BulkImportJob job = bulkImportJobRepository.findByJobId(jobId)
                 .orElseThrow(() -> new RuntimeException("Job not found: " + jobId));
 
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            log.info("Processing bulk import job: {}", jobId);
+            log.info("Splitting bulk import job: {}", jobId);
 
-            // In production, you'd retrieve the file from storage
-            // For this example, we'll simulate processing
-            processThirdPartyRecords(job);
+            int totalChunks = splitIntoChunks(job);
+            bulkImportJobRepository.markSplitComplete(jobId, totalChunks);
+            sample.stop(importTimer("grc.import.split", "success"));
 
-            job.setStatus(BulkImportJob.JobStatus.COMPLETED);
-            bulkImportJobRepository.save(job);
+            // All chunks may already be done by the time the split finishes
+            if (importWriter.completeIfFinished(jobId)) {
+                log.info("Bulk import job {} completed", jobId);
+            }
 
         } catch (Exception e) {
-            log.error("Error processing bulk import: {}", jobId, e);
-            job.setStatus(BulkImportJob.JobStatus.FAILED);
-            job.setErrorDetails(e.getMessage());
-            bulkImportJobRepository.save(job);
+            sample.stop(importTimer("grc.import.split", "error"));
+            log.warn("Error splitting bulk import job {}: {}", jobId, e.getMessage());
+            // Hand the job back so the redelivery can claim it without waiting out the lease
+            bulkImportJobRepository.transitionStatus(jobId,
+                    BulkImportJob.JobStatus.PROCESSING, BulkImportJob.JobStatus.PENDING);
+            throw new RuntimeException("Failed to split bulk import job " + jobId, e);
         }
+        publishImportProgress(jobId);
     }
 
-    private void processThirdPartyRecords(BulkImportJob job) {
-        // Simulate processing records
-        int totalRecords = job.getTotalRecords();
-        int successCount = 0;
-        int failCount = 0;
-
-        for (int i = 0; i < totalRecords; i++) {
-            try {
-                // Simulate record processing
-                ThirdParty thirdParty = new ThirdParty();
-                thirdParty.setCompanyName("Company " + (i + 1));
-                thirdParty.setDomain("company" + (i + 1) + ".com");
-                thirdParty.setIndustry("Technology");
-                thirdParty.setRiskScore(calculateRiskScore(thirdParty));
-
-                // Check for duplicates
-                if (thirdPartyRepository.findByCompanyNameIgnoreCase(thirdParty.getCompanyName()).isEmpty()) {
-                    thirdPartyRepository.save(thirdParty);
-                    successCount++;
-                } else {
-                    log.warn("Duplicate company found: {}", thirdParty.getCompanyName());
-                    failCount++;
+    // Called by the import error handler once the split's retries are exhausted. Chunks already sent but not
+    // yet written are dropped by the writer; rows written before the job failed are kept, and totalRecords
+    // stays at the last checkpoint.
+    public void recoverFailedSplit(UUID jobId, Exception e) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        log.error("Giving up on splitting bulk import job {}: {}", jobId, cause.getMessage(), e);
+        bulkImportJobRepository.failSplit(jobId, cause.getMessage(), List.of(
+                BulkImportJob.JobStatus.PENDING, BulkImportJob.JobStatus.PROCESSING), BulkImportJob.JobStatus.FAILED);
+        publishImportProgress(jobId);
+    }
+
+    // Failures propagate to the container's error handler, which retries with backoff and then calls recoverFailedChunk
+    @KafkaListener(topics = "tprm-bulk-import-chunks", containerFactory = "importListenerContainerFactory",
+            concurrency = "${grc.import.consumer-concurrency:4}")
+    public void processImportChunk(ThirdPartyImportChunk chunk) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Optional<ThirdPartyImportWriter.ChunkOutcome> outcome;
+        try {
+            vendorIdentityIndex.ensureLoaded();
+            outcome = importWriter.writeChunk(chunk);
+            sample.stop(importTimer("grc.import.chunk", "success"));
+        } catch (RuntimeException e) {
+            sample.stop(importTimer("grc.import.chunk", "error"));
+            log.warn("Error writing chunk {} of job {}: {}", chunk.getChunkIndex(), chunk.getJobId(), e.getMessage());
+            throw e;
+        }
+
+        if (outcome.isPresent()) {
+            countImportRows("inserted", outcome.get().inserted());
+            countImportRows("duplicate", outcome.get().duplicates());
+            countImportRows("domain_collision", outcome.get().domainCollisions());
+            countImportRows("rejected", chunk.getRejectedRows());
+        } else {
+            log.info("Chunk {} of job {} was already recorded or its job failed, skipping",
+                    chunk.getChunkIndex(), chunk.getJobId());
+        }
+        // Also on redelivery, in case the earlier delivery stopped before completing the job
+        finishChunk(chunk.getJobId());
+    }
+
+    // Called by the import chunk error handler once retries are exhausted or the error is not retryable
+    public void recoverFailedChunk(ThirdPartyImportChunk chunk, Exception e) {
+        log.error("Giving up on chunk {} of job {}: {}", chunk.getChunkIndex(), chunk.getJobId(), e.getMessage(), e);
+        if (importWriter.recordFailedChunk(chunk)) {
+            countImportRows("failed", chunk.getRows().size() + chunk.getRejectedRows());
+        }
+        finishChunk(chunk.getJobId());
+    }
+
+    private void finishChunk(UUID jobId) {
+        if (importWriter.completeIfFinished(jobId)) {
+            log.info("Bulk import job {} completed", jobId);
+        }
+        publishImportProgress(jobId);
+    }
+
+    @Scheduled(fixedDelayString = "${grc.import.reclaim-interval-ms:60000}")
+    public void reclaimStaleSplits() {
+        try {
+            Integer reclaimed = transactionTemplate.execute(status -> {
+                List<UUID> jobIds = bulkImportJobRepository.lockStaleSplits(seconds(splitLease), reclaimBatchSize);
+                for (UUID jobId : jobIds) {
+                    bulkImportJobRepository.transitionStatus(jobId,
+                            BulkImportJob.JobStatus.PROCESSING, BulkImportJob.JobStatus.PENDING);
+                    outboxService.enqueue("tprm-bulk-import", jobId.toString(), jobId.toString());
+                }
+                return jobIds.size();
+            });
+            if (reclaimed != null && reclaimed > 0) {
+                log.warn("Re-enqueued {} bulk import jobs whose split outlived {}", reclaimed, splitLease);
+            }
+        } catch (Exception e) {
+            log.error("Reclaiming stale bulk import splits failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Chunk boundaries depend only on the file, so a resumed split re-reads it and skips the chunks an
+    // earlier attempt already checkpointed. Chunks sent after the last checkpoint go again; the writer
+    // drops them through bulk_import_chunks.
+    private int splitIntoChunks(BulkImportJob job) throws Exception {
+        UUID jobId = job.getJobId();
+        int resumeFrom = job.getSplitChunks();
+        List<ThirdPartyImportDTO> rows = new ArrayList<>(chunkSize);
+        List<CompletableFuture<?>> sends = new ArrayList<>();
+        int rejectedRows = 0;
+        int chunkIndex = 0;
+        int totalRecords = 0;
+
+        if (resumeFrom > 0) {
+            log.info("Resuming split of bulk import job {} from chunk {}", jobId, resumeFrom);
+        }
+
+        // Records are pulled from the parser one at a time, so memory stays bounded by the chunk size
+        try (Reader reader = new BufferedReader(new InputStreamReader(
+                fileStorageService.downloadImportFile(job.getSourceFilePath()), StandardCharsets.UTF_8));
+             CSVParser parser = IMPORT_CSV_FORMAT.parse(reader)) {
+
+            for (CSVRecord record : parser) {
+                try {
+                    rows.add(toImportRow(record));
+                } catch (Exception e) {
+                    rejectedRows++;
+                    log.error("Error processing record {}: {}", record.getRecordNumber(), e.getMessage());
                 }
 
-                // Update progress
-                job.setProcessedRecords(i + 1);
-                job.setSuccessfulRecords(successCount);
-                job.setFailedRecords(failCount);
+                if (rows.size() + rejectedRows >= chunkSize) {
+                    totalRecords += rows.size() + rejectedRows;
+                    if (chunkIndex >= resumeFrom) {
+                        sends.add(sendChunk(new ThirdPartyImportChunk(jobId, chunkIndex, rows, rejectedRows)));
+                    }
+                    chunkIndex++;
+                    rows = new ArrayList<>(chunkSize);
+                    rejectedRows = 0;
 
-                if ((i + 1) % 100 == 0) {
-                    bulkImportJobRepository.save(job);
-                    log.info("Processed {} out of {} records", i + 1, totalRecords);
+                    if (sends.size() >= splitCheckpointChunks) {
+                        checkpoint(jobId, sends, chunkIndex, totalRecords);
+                    }
                 }
+            }
+        }
 
-            } catch (Exception e) {
-                failCount++;
-                log.error("Error processing record {}: {}", i + 1, e.getMessage());
+        if (!rows.isEmpty() || rejectedRows > 0) {
+            totalRecords += rows.size() + rejectedRows;
+            if (chunkIndex >= resumeFrom) {
+                sends.add(sendChunk(new ThirdPartyImportChunk(jobId, chunkIndex, rows, rejectedRows)));
             }
+            chunkIndex++;
         }
 
-        job.setProcessedRecords(totalRecords);
-        job.setSuccessfulRecords(successCount);
-        job.setFailedRecords(failCount);
+        // Every chunk must be on the broker before the job can be marked as fully split
+        checkpoint(jobId, sends, chunkIndex, totalRecords);
+        log.info("Split bulk import job {} into {} chunks", jobId, chunkIndex);
+        return chunkIndex;
     }
 
-    private Integer calculateRiskScore(ThirdParty thirdParty) {
+    // Waits for the outstanding sends, then records how far the split got and renews its lease
+    private void checkpoint(UUID jobId, List<CompletableFuture<?>> sends, int splitChunks, int totalRecords) {
+        CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).join();
+        sends.clear();
+        bulkImportJobRepository.recordSplitProgress(jobId, splitChunks, totalRecords);
+    }
+
+    private CompletableFuture<?> sendChunk(ThirdPartyImportChunk chunk) {
+        return kafkaTemplate.send("tprm-bulk-import-chunks",
+                chunk.getJobId() + ":" + chunk.getChunkIndex(), chunk);
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+
+    private Timer importTimer(String name, String outcome) {
+        return Timer.builder(name)
+                .description("Bulk import stage time")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // rate() over this counter gives rows/sec per outcome
+    private void countImportRows(String outcome, int rows) {
+        Counter.builder("grc.import.rows")
+                .description("Bulk import rows written by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(rows);
+    }
+
+    static ThirdPartyImportDTO toImportRow(CSVRecord record) {
+        String companyName = column(record, "companyName");
+        if (companyName == null) {
+            throw new IllegalArgumentException("companyName is required");
+        }
+
+        ThirdPartyImportDTO row = new ThirdPartyImportDTO();
+        row.setCompanyName(companyName);
+        row.setDomain(column(record, "domain"));
+        row.setIndustry(column(record, "industry"));
+        row.setContactEmail(column(record, "contactEmail"));
+        row.setContactPhone(column(record, "contactPhone"));
+
+        String employeeCount = column(record, "employeeCount");
+        if (employeeCount != null) {
+            row.setEmployeeCount(Integer.valueOf(employeeCount));
+        }
+        String revenue = column(record, "revenue");
+        if (revenue != null) {
+            row.setRevenue(Long.valueOf(revenue));
+        }
+        String status = column(record, "status");
+        row.setStatus(status != null
+                ? ThirdParty.Status.valueOf(status.toUpperCase(Locale.ROOT)).name()
+                : ThirdParty.Status.ACTIVE.name());
+        return row;
+    }
+
+    // The one risk score placeholder; the import writer scores each new vendor through it
+    static Integer calculateRiskScore(ThirdParty thirdParty) {
         // Simulate risk calculation based on various factors
         return (int) (Math.random() * 100);
     }
 
+    private static String column(CSVRecord record, String name) {
+        if (!record.isMapped(name) || !record.isSet(name)) {
+            return null;
+        }
+        String value = record.get(name);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
     public BulkImportJob getImportStatus(UUID jobId) {
         return bulkImportJobRepository.findByJobId(jobId)
                 .orElseThrow(() -> new RuntimeException("Job not found: " + jobId));
     }
 
-    public List<ThirdParty> searchThirdParties(String query) {
-        return thirdPartyRepository.findByCompanyNameContaining(query);
+    public SseEmitter streamImportStatus(UUID jobId) {
+        return progressBus.subscribe(importChannel(jobId), () -> importProgress(getImportStatus(jobId)));
+    }
+
+    // One read per chunk, however many clients are watching the job
+    private void publishImportProgress(UUID jobId) {
+        try {
+            bulkImportJobRepository.findByJobId(jobId)
+                    .ifPresent(job -> progressBus.publish(importProgress(job)));
+        } catch (Exception e) {
+            log.warn("Could not publish progress for job {}: {}", jobId, e.getMessage());
+        }
+    }
+
+    private static ProgressUpdate importProgress(BulkImportJob job) {
+        boolean last = job.getStatus() == BulkImportJob.JobStatus.COMPLETED
+                || job.getStatus() == BulkImportJob.JobStatus.FAILED;
+        return new ProgressUpdate(importChannel(job.getJobId()), job, last, job.getProcessedRecords());
+    }
+
+    private static String importChannel(UUID jobId) {
+        return "import:" + jobId;
+    }
+
+    public List<ThirdParty> searchThirdParties(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        int limit = Math.max(1, Math.min(size, maxSearchPageSize));
+        return thirdPartyRepository.search(query.trim().toLowerCase(Locale.ROOT), trigramSupport.isAvailable(),
+                limit, Math.max(0, page) * limit);
     }
-}
\ No newline at end of file
+}
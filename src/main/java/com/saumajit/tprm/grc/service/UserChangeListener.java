@@ -0,0 +1,22 @@
+package com.saumajit.tprm.grc.service;
+
+import com.saumajit.tprm.grc.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+// JPA entity listener; Hibernate resolves it through Spring so it can publish events
+@Component
+@RequiredArgsConstructor
+public class UserChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+    }
+}
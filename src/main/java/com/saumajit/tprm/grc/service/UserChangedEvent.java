@@ -0,0 +1,5 @@
+package com.saumajit.tprm.grc.service;
+
+// Published whenever a user row changes, so cached principals can be dropped
+public record UserChangedEvent(Long userId) {
+}
@@ -21,6 +21,7 @@ public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
     @Override
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
@@ -28,6 +29,13 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + usernameOrEmail));
     }
 
+    // Used by the JWT filter on every request; login still goes through loadUserByUsername uncached
+    public AuthenticatedUser loadPrincipal(String usernameOrEmail) {
+        return principalCache.get(usernameOrEmail, key -> userRepository.findByUsernameOrEmail(key)
+                .map(AuthenticatedUser::of)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + key)));
+    }
+
     @Transactional
     public User registerUser(RegisterRequest request) {
         // Check if username already exists
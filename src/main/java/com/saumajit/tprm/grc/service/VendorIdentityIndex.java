@@ -0,0 +1,186 @@
+package com.saumajit.tprm.grc.service;
+
+import com.saumajit.tprm.grc.model.ThirdParty;
+import com.saumajit.tprm.grc.repository.ThirdPartyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 64-bit hashes of the normalized domains of existing vendors, so the importer only looks up domains that may be taken.
+// Deletes are not tracked, so a hit is only a candidate that ThirdPartyImportWriter confirms against the database.
+// Names need no index: they are confirmed in one lookup per chunk on the unique lower(company_name) index.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VendorIdentityIndex {
+
+    private final ThirdPartyRepository thirdPartyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${grc.import.identity-index.refresh-interval:1h}")
+    private Duration refreshInterval;
+
+    private volatile Snapshot snapshot;
+
+    // Not synchronized: a virtual thread blocked on the load query would pin its carrier
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private record Snapshot(HashedKeys domains, Instant loadedAt) {
+    }
+
+    // Called before every chunk transaction; only the first call per refresh interval reads the table.
+    // Waiting callers hold no pooled connection, only the loader does.
+    public void ensureLoaded() {
+        Snapshot current = snapshot;
+        if (current != null && current.loadedAt().plus(refreshInterval).isAfter(Instant.now())) {
+            return;
+        }
+        loadLock.lock();
+        try {
+            current = snapshot;
+            if (current == null || !current.loadedAt().plus(refreshInterval).isAfter(Instant.now())) {
+                snapshot = load();
+            }
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    public boolean mayContainDomain(String normalizedDomain) {
+        return snapshot.domains().contains(hash(normalizedDomain));
+    }
+
+    // Deferred to commit so a rolled-back chunk never marks its domains as taken
+    public void addAfterCommit(Collection<ThirdParty> vendors) {
+        Runnable add = () -> {
+            Snapshot current = snapshot;
+            for (ThirdParty vendor : vendors) {
+                if (vendor.getDomain() != null) {
+                    current.domains().add(hash(normalizeDomain(vendor.getDomain())));
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add.run();
+                }
+            });
+        } else {
+            add.run();
+        }
+    }
+
+    public static String normalizeName(String companyName) {
+        return companyName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static String normalizeDomain(String domain) {
+        String normalized = domain.trim().toLowerCase(Locale.ROOT);
+        if (normalized.startsWith("https://")) {
+            normalized = normalized.substring(8);
+        } else if (normalized.startsWith("http://")) {
+            normalized = normalized.substring(7);
+        }
+        if (normalized.startsWith("www.")) {
+            normalized = normalized.substring(4);
+        }
+        int slash = normalized.indexOf('/');
+        return slash >= 0 ? normalized.substring(0, slash) : normalized;
+    }
+
+    // FNV-1a with a murmur3 finalizer; with n keys loaded a new domain wrongly hits with odds of about n in 2^64
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private Snapshot load() {
+        long start = System.nanoTime();
+        HashedKeys.Builder domains = new HashedKeys.Builder();
+        // Own short transaction so the driver streams the table with a cursor
+        transactionTemplate.executeWithoutResult(status ->
+                thirdPartyRepository.forEachDomain(domain -> {
+                    if (!domain.isBlank()) {
+                        domains.add(hash(normalizeDomain(domain)));
+                    }
+                }));
+        Snapshot loaded = new Snapshot(domains.build(), Instant.now());
+        log.info("Loaded vendor identity index: {} domains in {} ms",
+                loaded.domains().size(), (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+
+    // Sorted primitive array for the loaded keys (8 bytes each) plus a small set for keys added since the load
+    static final class HashedKeys {
+
+        private final long[] loaded;
+        private final Set<Long> added = ConcurrentHashMap.newKeySet();
+
+        private HashedKeys(long[] loaded) {
+            this.loaded = loaded;
+        }
+
+        boolean contains(long key) {
+            return Arrays.binarySearch(loaded, key) >= 0 || added.contains(key);
+        }
+
+        void add(long key) {
+            if (Arrays.binarySearch(loaded, key) < 0) {
+                added.add(key);
+            }
+        }
+
+        int size() {
+            return loaded.length + added.size();
+        }
+
+        static final class Builder {
+
+            private long[] keys = new long[1024];
+            private int size;
+
+            void add(long key) {
+                if (size == keys.length) {
+                    keys = Arrays.copyOf(keys, size * 2);
+                }
+                keys[size++] = key;
+            }
+
+            HashedKeys build() {
+                long[] sorted = Arrays.copyOf(keys, size);
+                Arrays.sort(sorted);
+                int distinct = 0;
+                for (int i = 0; i < sorted.length; i++) {
+                    if (distinct == 0 || sorted[i] != sorted[distinct - 1]) {
+                        sorted[distinct++] = sorted[i];
+                    }
+                }
+                return new HashedKeys(Arrays.copyOf(sorted, distinct));
+            }
+        }
+    }
+}
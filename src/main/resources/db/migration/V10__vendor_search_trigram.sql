@@ -0,0 +1,6 @@
+-- Vendor search: trigram GIN indexes serve both '%q%' LIKE and the % similarity operator.
+-- pg_trgm is a trusted extension, so the database owner can create it without superuser rights.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_third_parties_name_trgm ON third_parties USING gin (lower(company_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_third_parties_domain_trgm ON third_parties USING gin (lower(domain) gin_trgm_ops);
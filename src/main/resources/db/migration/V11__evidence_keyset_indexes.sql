@@ -0,0 +1,3 @@
+-- Keyset listing of evidence per uploader and per batch
+CREATE INDEX IF NOT EXISTS idx_evidence_uploads_uploader_created ON evidence_uploads (uploaded_by, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_evidence_uploads_batch_created ON evidence_uploads (batch_id, created_at, id);
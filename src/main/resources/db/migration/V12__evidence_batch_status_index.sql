@@ -0,0 +1,2 @@
+-- Per-status counts for the batch status summary
+CREATE INDEX IF NOT EXISTS idx_evidence_uploads_batch_status ON evidence_uploads (batch_id, status);
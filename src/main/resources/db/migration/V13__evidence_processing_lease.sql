@@ -0,0 +1,5 @@
+-- When a worker claimed the evidence; a PROCESSING claim older than grc.evidence.worker.processing-lease is stale
+ALTER TABLE evidence_uploads ADD COLUMN IF NOT EXISTS processing_started_at TIMESTAMP(6);
+
+CREATE INDEX IF NOT EXISTS idx_evidence_uploads_processing_started ON evidence_uploads (processing_started_at)
+    WHERE status = 'PROCESSING';
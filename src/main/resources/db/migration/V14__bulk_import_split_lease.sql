@@ -0,0 +1,6 @@
+-- When the split was claimed or last checkpointed; a PROCESSING job with no total_chunks older than
+-- grc.import.split-lease is a split whose pod stopped
+ALTER TABLE bulk_import_jobs ADD COLUMN IF NOT EXISTS processing_started_at TIMESTAMP(6);
+
+-- Chunks confirmed on the broker; a resumed split skips them
+ALTER TABLE bulk_import_jobs ADD COLUMN IF NOT EXISTS split_chunks INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+-- Import rows skipped because another vendor already uses their domain; also counted in failed_records
+ALTER TABLE bulk_import_jobs ADD COLUMN IF NOT EXISTS domain_collision_records INTEGER NOT NULL DEFAULT 0;
+
+-- Same normalization as VendorIdentityIndex.normalizeDomain, so the importer confirms domain hits by index lookup
+CREATE INDEX IF NOT EXISTS idx_third_parties_domain_normalized ON third_parties
+    ((regexp_replace(lower(btrim(domain)), '^(https?://)?(www\.)?([^/]*).*$', '\3')));
@@ -0,0 +1,90 @@
+-- Schema as it stood before versioned migrations. Existing databases are baselined at this
+-- version (spring.flyway.baseline-on-migrate), so this only runs against an empty database.
+
+CREATE TABLE IF NOT EXISTS users (
+    id                         BIGSERIAL PRIMARY KEY,
+    username                   VARCHAR(255) NOT NULL UNIQUE,
+    email                      VARCHAR(255) NOT NULL UNIQUE,
+    password                   VARCHAR(255) NOT NULL,
+    first_name                 VARCHAR(255),
+    last_name                  VARCHAR(255),
+    organization               VARCHAR(255),
+    role                       VARCHAR(255) NOT NULL,
+    is_enabled                 BOOLEAN      NOT NULL,
+    is_account_non_expired     BOOLEAN      NOT NULL,
+    is_account_non_locked      BOOLEAN      NOT NULL,
+    is_credentials_non_expired BOOLEAN      NOT NULL,
+    created_at                 TIMESTAMP(6),
+    updated_at                 TIMESTAMP(6),
+    last_login                 TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS third_parties (
+    id              BIGSERIAL PRIMARY KEY,
+    company_name    VARCHAR(255) NOT NULL,
+    domain          VARCHAR(255),
+    industry        VARCHAR(255),
+    employee_count  INTEGER,
+    revenue         BIGINT,
+    risk_score      INTEGER      NOT NULL,
+    status          VARCHAR(255) NOT NULL,
+    enrichment_data JSONB,
+    contact_email   VARCHAR(255),
+    contact_phone   VARCHAR(255),
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS bulk_import_jobs (
+    id                 BIGSERIAL PRIMARY KEY,
+    job_id             UUID         NOT NULL UNIQUE,
+    file_name          VARCHAR(255),
+    total_records      INTEGER,
+    processed_records  INTEGER,
+    successful_records INTEGER,
+    failed_records     INTEGER,
+    status             VARCHAR(255) NOT NULL,
+    error_details      TEXT,
+    started_by         BIGINT,
+    created_at         TIMESTAMP(6),
+    updated_at         TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS evidence_categories (
+    id              BIGSERIAL PRIMARY KEY,
+    name            VARCHAR(255) NOT NULL,
+    description     VARCHAR(255),
+    auto_categorize BOOLEAN,
+    created_at      TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS evidence_category_keywords (
+    category_id BIGINT NOT NULL REFERENCES evidence_categories (id),
+    keyword     VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS evidence_uploads (
+    id                 BIGSERIAL PRIMARY KEY,
+    batch_id           VARCHAR(255) NOT NULL,
+    file_name          VARCHAR(255) NOT NULL,
+    original_file_name VARCHAR(255) NOT NULL,
+    file_path          VARCHAR(255) NOT NULL,
+    file_size          BIGINT,
+    content_type       VARCHAR(255),
+    status             VARCHAR(255) NOT NULL,
+    evidence_type      VARCHAR(255) NOT NULL,
+    category_id        BIGINT REFERENCES evidence_categories (id),
+    uploaded_by        BIGINT REFERENCES users (id),
+    questionnaire_id   BIGINT,
+    question_id        BIGINT,
+    processing_notes   TEXT,
+    tags               TEXT,
+    description        TEXT,
+    created_at         TIMESTAMP(6),
+    updated_at         TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS evidence_policy_mappings (
+    evidence_id BIGINT NOT NULL REFERENCES evidence_uploads (id),
+    policy_type VARCHAR(255)
+);
@@ -0,0 +1,2 @@
+-- Bulk import files are spooled to object storage and parsed by the consumer
+ALTER TABLE bulk_import_jobs ADD COLUMN IF NOT EXISTS source_file_path VARCHAR(255);
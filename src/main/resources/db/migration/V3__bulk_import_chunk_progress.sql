@@ -0,0 +1,3 @@
+-- Chunked bulk imports: the job completes once every split chunk has been written
+ALTER TABLE bulk_import_jobs ADD COLUMN IF NOT EXISTS total_chunks INTEGER;
+ALTER TABLE bulk_import_jobs ADD COLUMN IF NOT EXISTS completed_chunks INTEGER DEFAULT 0;
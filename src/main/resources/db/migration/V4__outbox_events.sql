@@ -0,0 +1,12 @@
+-- Transactional outbox: events commit with the business write and are relayed to Kafka afterwards
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id           BIGSERIAL PRIMARY KEY,
+    topic        VARCHAR(255) NOT NULL,
+    message_key  VARCHAR(255),
+    payload_type VARCHAR(255) NOT NULL,
+    payload      TEXT         NOT NULL,
+    created_at   TIMESTAMP(6),
+    published_at TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_unpublished ON outbox_events (id) WHERE published_at IS NULL;
@@ -0,0 +1,4 @@
+-- SHA-256 of the stored bytes; identical uploads share one object
+ALTER TABLE evidence_uploads ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_evidence_uploads_content_hash ON evidence_uploads (content_hash);
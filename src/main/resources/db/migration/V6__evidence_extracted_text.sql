@@ -0,0 +1,2 @@
+-- Capped plain text of the document, used for search and auto-categorization
+ALTER TABLE evidence_uploads ADD COLUMN IF NOT EXISTS extracted_text TEXT;
@@ -0,0 +1,8 @@
+-- Outbox delivery state: failed sends back off per row and are parked after grc.outbox.max-attempts
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS last_error TEXT;
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP(6);
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS parked_at TIMESTAMP(6);
+
+DROP INDEX IF EXISTS idx_outbox_events_unpublished;
+CREATE INDEX IF NOT EXISTS idx_outbox_events_unpublished ON outbox_events (id) WHERE published_at IS NULL AND parked_at IS NULL;
@@ -0,0 +1,8 @@
+-- One row per written or failed import chunk, so a redelivered chunk is recognised and not counted twice
+CREATE TABLE IF NOT EXISTS bulk_import_chunks (
+    job_id       UUID         NOT NULL,
+    chunk_index  INTEGER      NOT NULL,
+    failed       BOOLEAN      NOT NULL,
+    recorded_at  TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (job_id, chunk_index)
+);
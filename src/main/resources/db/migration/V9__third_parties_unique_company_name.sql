@@ -0,0 +1,15 @@
+-- Authoritative vendor dedup: the bulk import's ON CONFLICT DO NOTHING relies on this index.
+-- Existing case-insensitive duplicates are not merged automatically; the migration stops and lists them instead.
+DO $$
+DECLARE
+    duplicates TEXT;
+BEGIN
+    SELECT string_agg(name, ', ') INTO duplicates
+    FROM (SELECT lower(company_name) AS name FROM third_parties
+          GROUP BY lower(company_name) HAVING count(*) > 1 ORDER BY 1 LIMIT 20) d;
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'third_parties has company names that differ only by case (first 20: %); merge them and rerun the migration', duplicates;
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_third_parties_company_name_lower ON third_parties (lower(company_name));
@@ -0,0 +1,332 @@
+package com.saumajit.tprm.grc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestClient;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Drives concurrent evidence uploads and bulk imports against real backing services and
+// reports latency and throughput; results go to target/load-report.json for baseline comparison
+@Tag("load")
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class IngestionLoadTest {
+
+	private static final Logger log = LoggerFactory.getLogger(IngestionLoadTest.class);
+
+	private static final int UPLOADERS = Integer.getInteger("load.uploaders", 8);
+	private static final int UPLOADS_PER_UPLOADER = Integer.getInteger("load.uploads-per-uploader", 10);
+	private static final int FILES_PER_UPLOAD = Integer.getInteger("load.files-per-upload", 5);
+	private static final DataSize FILE_SIZE = DataSize.parse(System.getProperty("load.file-size", "256KB"));
+	private static final int IMPORT_JOBS = Integer.getInteger("load.import-jobs", 4);
+	private static final int IMPORT_ROWS = Integer.getInteger("load.import-rows", 10000);
+	private static final Duration DRAIN_TIMEOUT = Duration.parse(System.getProperty("load.drain-timeout", "PT10M"));
+
+	@Container
+	static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+
+	@Container
+	static final KafkaContainer kafka = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.5.0"));
+
+	@Container
+	static final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine")
+			.withExposedPorts(6379);
+
+	@Container
+	static final GenericContainer<?> minio = new GenericContainer<>("minio/minio:RELEASE.2024-10-13T13-34-11Z")
+			.withCommand("server", "/data")
+			.withEnv("MINIO_ROOT_USER", "minioadmin")
+			.withEnv("MINIO_ROOT_PASSWORD", "minioadmin")
+			.withExposedPorts(9000)
+			.waitingFor(Wait.forHttp("/minio/health/live").forPort(9000));
+
+	@DynamicPropertySource
+	static void backingServices(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", postgres::getJdbcUrl);
+		registry.add("spring.datasource.username", postgres::getUsername);
+		registry.add("spring.datasource.password", postgres::getPassword);
+		registry.add("spring.jpa.show-sql", () -> "false");
+		registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
+		registry.add("spring.redis.host", redis::getHost);
+		registry.add("spring.redis.port", () -> redis.getMappedPort(6379));
+		registry.add("minio.endpoint", () -> "http://" + minio.getHost() + ":" + minio.getMappedPort(9000));
+	}
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private RestClient client;
+
+	@BeforeEach
+	void authenticate() {
+		RestClient anonymous = RestClient.create("http://localhost:" + port);
+		String username = "load-" + UUID.randomUUID().toString().substring(0, 8);
+		JsonNode auth = anonymous.post()
+				.uri("/api/auth/register")
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(Map.of(
+						"username", username,
+						"email", username + "@load.test",
+						"password", "load-test-password",
+						"firstName", "Load",
+						"lastName", "Test",
+						"organization", "Load Test"))
+				.retrieve()
+				.body(JsonNode.class);
+
+		client = RestClient.builder()
+				.baseUrl("http://localhost:" + port)
+				.defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + auth.get("token").asText())
+				.build();
+	}
+
+	@Test
+	void evidenceUploadAndBulkImportThroughput() throws Exception {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("evidenceUpload", runEvidenceUploads());
+		report.put("bulkImport", runBulkImports());
+
+		Path reportFile = Path.of("target", "load-report.json");
+		Files.createDirectories(reportFile.getParent());
+		objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+		log.info("Load test report written to {}:\n{}", reportFile.toAbsolutePath(),
+				objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+	}
+
+	private Map<String, Object> runEvidenceUploads() throws Exception {
+		byte[] content = new byte[(int) FILE_SIZE.toBytes()];
+		new Random(42).nextBytes(content);
+
+		Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+		Queue<String> batchIds = new ConcurrentLinkedQueue<>();
+		AtomicInteger failures = new AtomicInteger();
+		AtomicLong bytesSent = new AtomicLong();
+
+		long start = System.nanoTime();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int uploader = 0; uploader < UPLOADERS; uploader++) {
+				int uploaderId = uploader;
+				executor.submit(() -> {
+					for (int i = 0; i < UPLOADS_PER_UPLOADER; i++) {
+						MultipartBodyBuilder body = new MultipartBodyBuilder();
+						for (int f = 0; f < FILES_PER_UPLOAD; f++) {
+							// Distinct content per file, so content-hash dedup does not short-circuit storage
+							byte[] file = content.clone();
+							file[0] = (byte) uploaderId;
+							file[1] = (byte) i;
+							file[2] = (byte) f;
+							body.part("files", namedResource(file, "evidence-" + uploaderId + "-" + i + "-" + f + ".pdf"))
+									.contentType(MediaType.APPLICATION_PDF);
+						}
+						body.part("evidenceType", "AUDIT_REPORT");
+
+						long requestStart = System.nanoTime();
+						try {
+							JsonNode response = client.post()
+									.uri("/api/evidence/upload/multiple")
+									.contentType(MediaType.MULTIPART_FORM_DATA)
+									.body(body.build())
+									.retrieve()
+									.body(JsonNode.class);
+							latencies.add(System.nanoTime() - requestStart);
+							batchIds.add(response.get("batchId").asText());
+							bytesSent.addAndGet((long) content.length * FILES_PER_UPLOAD);
+						} catch (Exception e) {
+							failures.incrementAndGet();
+							log.warn("Upload failed: {}", e.getMessage());
+						}
+					}
+				});
+			}
+		}
+		long accepted = System.nanoTime();
+
+		// Accepted is not processed: wait for the workers to drain every batch
+		int failedFiles = 0;
+		for (String batchId : batchIds) {
+			JsonNode status = awaitTerminal("/api/evidence/batch/{id}/status", batchId, "overallStatus",
+					List.of("PENDING", "PROCESSING"));
+			failedFiles += status.get("failedFiles").asInt();
+		}
+		long drained = System.nanoTime();
+
+		assertThat(failures.get()).as("failed upload requests").isZero();
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("uploaders", UPLOADERS);
+		result.put("requests", latencies.size());
+		result.put("files", latencies.size() * FILES_PER_UPLOAD);
+		result.put("fileSizeBytes", FILE_SIZE.toBytes());
+		result.put("failedRequests", failures.get());
+		result.put("failedFiles", failedFiles);
+		result.putAll(percentiles(latencies));
+		result.put("acceptedMBPerSec", mbPerSec(bytesSent.get(), accepted - start));
+		result.put("processedMBPerSec", mbPerSec(bytesSent.get(), drained - start));
+		return result;
+	}
+
+	private Map<String, Object> runBulkImports() throws Exception {
+		Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+		Queue<String> jobIds = new ConcurrentLinkedQueue<>();
+		AtomicInteger failures = new AtomicInteger();
+		String runId = UUID.randomUUID().toString().substring(0, 8);
+
+		long start = System.nanoTime();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int job = 0; job < IMPORT_JOBS; job++) {
+				byte[] csv = importCsv(runId, job);
+				int jobNumber = job;
+				executor.submit(() -> {
+					MultipartBodyBuilder body = new MultipartBodyBuilder();
+					body.part("file", namedResource(csv, "vendors-" + jobNumber + ".csv"))
+							.contentType(MediaType.parseMediaType("text/csv"));
+
+					long requestStart = System.nanoTime();
+					try {
+						JsonNode response = client.post()
+								.uri("/api/tprm/bulk-import")
+								.contentType(MediaType.MULTIPART_FORM_DATA)
+								.body(body.build())
+								.retrieve()
+								.body(JsonNode.class);
+						latencies.add(System.nanoTime() - requestStart);
+						jobIds.add(response.get("jobId").asText());
+					} catch (Exception e) {
+						failures.incrementAndGet();
+						log.warn("Bulk import request failed: {}", e.getMessage());
+					}
+				});
+			}
+		}
+
+		long rows = 0;
+		int failedJobs = 0;
+		for (String jobId : jobIds) {
+			JsonNode job = awaitTerminal("/api/tprm/import-status/{id}", jobId, "status",
+					List.of("PENDING", "PROCESSING"));
+			rows += job.get("processedRecords").asLong();
+			if ("FAILED".equals(job.get("status").asText())) {
+				failedJobs++;
+			}
+		}
+		long completed = System.nanoTime();
+
+		assertThat(failures.get()).as("failed import requests").isZero();
+		assertThat(failedJobs).as("failed import jobs").isZero();
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("jobs", IMPORT_JOBS);
+		result.put("rowsPerJob", IMPORT_ROWS);
+		result.put("failedRequests", failures.get());
+		result.put("failedJobs", failedJobs);
+		result.putAll(percentiles(latencies));
+		result.put("rowsProcessed", rows);
+		result.put("rowsPerSec", Math.round(rows / seconds(completed - start)));
+		return result;
+	}
+
+	private JsonNode awaitTerminal(String uriTemplate, String id, String statusField, List<String> inFlight)
+			throws InterruptedException {
+		long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+		while (true) {
+			JsonNode node = client.get().uri(uriTemplate, id).retrieve().body(JsonNode.class);
+			if (!inFlight.contains(node.get(statusField).asText())) {
+				return node;
+			}
+			if (System.nanoTime() > deadline) {
+				throw new AssertionError(id + " still " + node.get(statusField).asText() + " after " + DRAIN_TIMEOUT);
+			}
+			Thread.sleep(250);
+		}
+	}
+
+	private static byte[] importCsv(String runId, int job) {
+		StringBuilder csv = new StringBuilder("companyName,domain,industry,employeeCount,revenue,contactEmail,contactPhone,status\n");
+		for (int row = 0; row < IMPORT_ROWS; row++) {
+			// Unique per run, so the vendor identity index does not drop rows as duplicates
+			String vendor = "load-" + runId + "-" + job + "-" + row;
+			csv.append(vendor).append(',').append(vendor).append(".example.com,Technology,")
+					.append(50 + row % 5000).append(',').append(1_000_000L + row).append(",contact@")
+					.append(vendor).append(".example.com,+1-555-0100,active\n");
+		}
+		return csv.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static ByteArrayResource namedResource(byte[] content, String fileName) {
+		return new ByteArrayResource(content) {
+			@Override
+			public String getFilename() {
+				return fileName;
+			}
+		};
+	}
+
+	private static Map<String, Object> percentiles(Queue<Long> latenciesNanos) {
+		List<Long> sorted = new ArrayList<>(latenciesNanos);
+		sorted.sort(null);
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("p50Ms", percentileMillis(sorted, 0.50));
+		result.put("p99Ms", percentileMillis(sorted, 0.99));
+		result.put("maxMs", percentileMillis(sorted, 1.0));
+		return result;
+	}
+
+	private static double percentileMillis(List<Long> sorted, double percentile) {
+		if (sorted.isEmpty()) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+		return sorted.get(Math.max(0, index)) / 1_000_000.0;
+	}
+
+	private static double mbPerSec(long bytes, long elapsedNanos) {
+		return Math.round(bytes / (1024.0 * 1024.0) / seconds(elapsedNanos) * 100) / 100.0;
+	}
+
+	private static double seconds(long elapsedNanos) {
+		return Math.max(elapsedNanos, 1) / 1_000_000_000.0;
+	}
+}
@@ -0,0 +1,89 @@
+package com.saumajit.tprm.grc.config;
+
+import com.saumajit.tprm.grc.dto.EvidenceProcessingEvent;
+import com.saumajit.tprm.grc.model.EvidenceUpload;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EvidenceEventSerializerTest {
+
+	private final EvidenceEventDeserializer deserializer = new EvidenceEventDeserializer();
+
+	@Test
+	void roundTripsJson() {
+		EvidenceProcessingEvent event = event();
+
+		byte[] bytes = new EvidenceEventSerializer(EvidenceEventSerializer.Encoding.JSON).serialize("evidence-processing", event);
+
+		assertThat(bytes[0]).isEqualTo((byte) '{');
+		assertThat(deserializer.deserialize("evidence-processing", bytes)).isEqualTo(event);
+	}
+
+	@Test
+	void roundTripsBinary() {
+		EvidenceProcessingEvent event = event();
+
+		byte[] bytes = new EvidenceEventSerializer(EvidenceEventSerializer.Encoding.BINARY).serialize("evidence-processing", event);
+
+		assertThat(bytes[0]).isEqualTo(EvidenceEventSerializer.BINARY_MAGIC);
+		assertThat(deserializer.deserialize("evidence-processing", bytes)).isEqualTo(event);
+	}
+
+	@Test
+	void roundTripsBinaryWithNullFields() {
+		EvidenceProcessingEvent event = new EvidenceProcessingEvent();
+		event.setEvidenceId(42L);
+
+		byte[] bytes = new EvidenceEventSerializer(EvidenceEventSerializer.Encoding.BINARY).serialize("evidence-processing", event);
+
+		assertThat(deserializer.deserialize("evidence-processing", bytes)).isEqualTo(event);
+	}
+
+	@Test
+	void rejectsAnUnknownBinaryVersion() {
+		byte[] bytes = new EvidenceEventSerializer(EvidenceEventSerializer.Encoding.BINARY).serialize("evidence-processing", event());
+		bytes[1] = (byte) (EvidenceProcessingEvent.CURRENT_VERSION + 1);
+
+		assertThatThrownBy(() -> deserializer.deserialize("evidence-processing", bytes))
+				.isInstanceOf(SerializationException.class)
+				.hasRootCauseMessage("Unsupported evidence event version: " + (EvidenceProcessingEvent.CURRENT_VERSION + 1));
+	}
+
+	@Test
+	void rejectsAnUnknownJsonVersion() {
+		EvidenceProcessingEvent event = event();
+		event.setVersion(EvidenceProcessingEvent.CURRENT_VERSION + 1);
+		byte[] bytes = new EvidenceEventSerializer(EvidenceEventSerializer.Encoding.JSON).serialize("evidence-processing", event);
+
+		assertThatThrownBy(() -> deserializer.deserialize("evidence-processing", bytes))
+				.isInstanceOf(SerializationException.class);
+	}
+
+	@Test
+	void rejectsMalformedPayloads() {
+		byte[] bytes = "not an event".getBytes(StandardCharsets.UTF_8);
+
+		assertThatThrownBy(() -> deserializer.deserialize("evidence-processing", bytes))
+				.isInstanceOf(SerializationException.class);
+	}
+
+	@Test
+	void readsEventsPublishedAsEntities() {
+		byte[] bytes = "{\"id\":42,\"batchId\":\"b-1\",\"status\":\"PENDING\"}".getBytes(StandardCharsets.UTF_8);
+
+		EvidenceProcessingEvent event = deserializer.deserialize("evidence-processing", bytes);
+
+		assertThat(event.getEvidenceId()).isEqualTo(42L);
+		assertThat(event.getBatchId()).isEqualTo("b-1");
+	}
+
+	private static EvidenceProcessingEvent event() {
+		return new EvidenceProcessingEvent(EvidenceProcessingEvent.CURRENT_VERSION, 42L, "b-1",
+				"evidence/2026/report.pdf", 1024L, "application/pdf", EvidenceUpload.EvidenceType.DOCUMENT, 7L);
+	}
+}
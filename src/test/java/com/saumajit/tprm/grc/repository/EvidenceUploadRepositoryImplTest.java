@@ -0,0 +1,137 @@
+package com.saumajit.tprm.grc.repository;
+
+import com.saumajit.tprm.grc.model.EvidenceUpload;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the review and claim SQL against the schema the Flyway migrations build
+@Testcontainers(disabledWithoutDocker = true)
+class EvidenceUploadRepositoryImplTest {
+
+	@Container
+	static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+
+	private static final Duration LEASE = Duration.ofMinutes(15);
+
+	private static JdbcTemplate jdbcTemplate;
+
+	private EvidenceUploadRepositoryImpl repository;
+
+	@BeforeAll
+	static void migrate() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+		Flyway.configure().dataSource(dataSource).load().migrate();
+		jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("DELETE FROM evidence_uploads");
+		repository = new EvidenceUploadRepositoryImpl(jdbcTemplate);
+	}
+
+	@Test
+	void reviewsOnlyFinishedEvidenceById() {
+		long completed = insert("batch-1", EvidenceUpload.ProcessingStatus.COMPLETED);
+		long processing = insert("batch-1", EvidenceUpload.ProcessingStatus.PROCESSING);
+		long approved = insert("batch-1", EvidenceUpload.ProcessingStatus.APPROVED);
+
+		List<Long> updated = repository.reviewByIds(List.of(completed, processing, approved, -1L),
+				EvidenceUpload.ProcessingStatus.REJECTED, "Rejected by: reviewer");
+
+		assertThat(updated).containsExactlyInAnyOrder(completed, approved);
+		assertThat(statusOf(completed)).isEqualTo("REJECTED");
+		assertThat(statusOf(approved)).isEqualTo("REJECTED");
+		assertThat(statusOf(processing)).isEqualTo("PROCESSING");
+		assertThat(jdbcTemplate.queryForObject("SELECT processing_notes FROM evidence_uploads WHERE id = ?",
+				String.class, completed)).isEqualTo("Rejected by: reviewer");
+	}
+
+	@Test
+	void reviewsOnlyTheRequestedBatch() {
+		long completed = insert("batch-1", EvidenceUpload.ProcessingStatus.COMPLETED);
+		long pending = insert("batch-1", EvidenceUpload.ProcessingStatus.PENDING);
+		long otherBatch = insert("batch-2", EvidenceUpload.ProcessingStatus.COMPLETED);
+
+		List<Long> updated = repository.reviewByBatch("batch-1", EvidenceUpload.ProcessingStatus.APPROVED, "Approved");
+
+		assertThat(updated).containsExactly(completed);
+		assertThat(statusOf(otherBatch)).isEqualTo("COMPLETED");
+		assertThat(repository.findUnreviewableIdsByBatch("batch-1")).containsExactly(pending);
+		assertThat(repository.findUnreviewableIdsByBatch("missing")).isEmpty();
+	}
+
+	@Test
+	void findsWhichIdsExist() {
+		long existing = insert("batch-1", EvidenceUpload.ProcessingStatus.FAILED);
+
+		assertThat(repository.findExistingIds(List.of(existing, -1L))).containsExactly(existing);
+	}
+
+	@Test
+	void claimsPendingEvidenceOnce() {
+		long pending = insert("batch-1", EvidenceUpload.ProcessingStatus.PENDING);
+		long completed = insert("batch-1", EvidenceUpload.ProcessingStatus.COMPLETED);
+
+		assertThat(repository.claimForProcessing(pending, LEASE)).isTrue();
+		assertThat(statusOf(pending)).isEqualTo("PROCESSING");
+		// A redelivered record while the first claim is live
+		assertThat(repository.claimForProcessing(pending, LEASE)).isFalse();
+		assertThat(repository.claimForProcessing(completed, LEASE)).isFalse();
+	}
+
+	@Test
+	void takesOverAClaimLeftByAWorkerThatStopped() {
+		long evidence = insert("batch-1", EvidenceUpload.ProcessingStatus.PENDING);
+		assertThat(repository.claimForProcessing(evidence, LEASE)).isTrue();
+
+		// The worker is killed after the claim commits; its record comes back once the lease has run out
+		ageClaim(evidence);
+
+		assertThat(repository.claimForProcessing(evidence, LEASE)).isTrue();
+		assertThat(repository.claimForProcessing(evidence, LEASE)).isFalse();
+	}
+
+	@Test
+	void releasesOnlyStaleClaims() {
+		long stale = insert("batch-1", EvidenceUpload.ProcessingStatus.PENDING);
+		long live = insert("batch-1", EvidenceUpload.ProcessingStatus.PENDING);
+		repository.claimForProcessing(stale, LEASE);
+		repository.claimForProcessing(live, LEASE);
+		ageClaim(stale);
+
+		assertThat(repository.releaseStaleClaims(LEASE, 100)).containsExactly(stale);
+		assertThat(statusOf(stale)).isEqualTo("PENDING");
+		assertThat(statusOf(live)).isEqualTo("PROCESSING");
+		assertThat(repository.claimForProcessing(stale, LEASE)).isTrue();
+	}
+
+	private void ageClaim(long id) {
+		jdbcTemplate.update("UPDATE evidence_uploads SET processing_started_at = now() - interval '1 hour' WHERE id = ?", id);
+	}
+
+	private long insert(String batchId, EvidenceUpload.ProcessingStatus status) {
+		return jdbcTemplate.queryForObject(
+				"INSERT INTO evidence_uploads (batch_id, file_name, original_file_name, file_path, status, evidence_type, " +
+				"created_at, updated_at) VALUES (?, 'file.pdf', 'file.pdf', 'evidence/file.pdf', ?, 'CERTIFICATE', now(), now()) " +
+				"RETURNING id",
+				Long.class, batchId, status.name());
+	}
+
+	private String statusOf(long id) {
+		return jdbcTemplate.queryForObject("SELECT status FROM evidence_uploads WHERE id = ?", String.class, id);
+	}
+}
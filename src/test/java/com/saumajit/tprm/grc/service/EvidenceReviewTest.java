@@ -0,0 +1,143 @@
+package com.saumajit.tprm.grc.service;
+
+import com.saumajit.tprm.grc.dto.BulkReviewRequest;
+import com.saumajit.tprm.grc.dto.BulkReviewResponse;
+import com.saumajit.tprm.grc.dto.EvidenceReviewedEvent;
+import com.saumajit.tprm.grc.model.EvidenceUpload;
+import com.saumajit.tprm.grc.model.User;
+import com.saumajit.tprm.grc.repository.EvidenceCategoryRepository;
+import com.saumajit.tprm.grc.repository.EvidenceUploadRepository;
+import com.saumajit.tprm.grc.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class EvidenceReviewTest {
+
+	private final EvidenceUploadRepository evidenceUploadRepository = mock(EvidenceUploadRepository.class);
+	private final OutboxService outboxService = mock(OutboxService.class);
+
+	private EvidenceProcessingService service;
+	private AuthenticatedUser reviewer;
+
+	@BeforeEach
+	void setUp() {
+		service = new EvidenceProcessingService(evidenceUploadRepository, mock(EvidenceCategoryRepository.class),
+				mock(UserRepository.class), mock(FileStorageService.class), outboxService, mock(TransactionTemplate.class),
+				mock(ProgressBus.class), new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(service, "maxReviewIds", 1000);
+
+		reviewer = new AuthenticatedUser(7L, "reviewer", User.Role.AUDITOR, true);
+	}
+
+	@Test
+	void reportsAnOutcomePerRequestedId() {
+		when(evidenceUploadRepository.reviewByIds(anyCollection(), eq(EvidenceUpload.ProcessingStatus.APPROVED), anyString()))
+				.thenReturn(List.of(1L));
+		when(evidenceUploadRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L, 2L));
+
+		BulkReviewResponse response = service.reviewEvidence(byIds(BulkReviewRequest.Action.APPROVE, 1L, 2L, 3L), reviewer);
+
+		assertThat(response.getUpdated()).isEqualTo(1);
+		assertThat(response.getSkipped()).isEqualTo(2);
+		assertThat(response.getResults())
+				.extracting(BulkReviewResponse.Result::getEvidenceId, BulkReviewResponse.Result::getOutcome)
+				.containsExactly(
+						tuple(1L, BulkReviewResponse.Outcome.UPDATED),
+						tuple(2L, BulkReviewResponse.Outcome.NOT_REVIEWABLE),
+						tuple(3L, BulkReviewResponse.Outcome.NOT_FOUND));
+		verify(outboxService).enqueue(eq(EvidenceProcessingService.REVIEW_TOPIC), eq("7"), any(EvidenceReviewedEvent.class));
+	}
+
+	@Test
+	void skipsTheExistenceLookupWhenEveryIdWasUpdated() {
+		when(evidenceUploadRepository.reviewByIds(anyCollection(), any(), anyString())).thenReturn(List.of(1L, 2L));
+
+		BulkReviewResponse response = service.reviewEvidence(byIds(BulkReviewRequest.Action.APPROVE, 1L, 2L, 2L), reviewer);
+
+		assertThat(response.getUpdated()).isEqualTo(2);
+		assertThat(response.getSkipped()).isZero();
+		verify(evidenceUploadRepository, never()).findExistingIds(anyCollection());
+	}
+
+	@Test
+	void publishesNothingWhenNoEvidenceChanged() {
+		when(evidenceUploadRepository.reviewByIds(anyCollection(), any(), anyString())).thenReturn(List.of());
+		when(evidenceUploadRepository.findExistingIds(anyCollection())).thenReturn(List.of());
+
+		BulkReviewResponse response = service.reviewEvidence(byIds(BulkReviewRequest.Action.APPROVE, 4L), reviewer);
+
+		assertThat(response.getResults())
+				.extracting(BulkReviewResponse.Result::getOutcome)
+				.containsExactly(BulkReviewResponse.Outcome.NOT_FOUND);
+		verifyNoInteractions(outboxService);
+	}
+
+	@Test
+	void reviewsAWholeBatch() {
+		when(evidenceUploadRepository.reviewByBatch(eq("batch-1"), eq(EvidenceUpload.ProcessingStatus.REJECTED), anyString()))
+				.thenReturn(List.of(10L, 11L));
+		when(evidenceUploadRepository.findUnreviewableIdsByBatch("batch-1")).thenReturn(List.of(12L));
+
+		BulkReviewRequest request = new BulkReviewRequest();
+		request.setAction(BulkReviewRequest.Action.REJECT);
+		request.setBatchId("batch-1");
+		request.setReason("Expired certificate");
+		BulkReviewResponse response = service.reviewEvidence(request, reviewer);
+
+		assertThat(response.getUpdated()).isEqualTo(2);
+		assertThat(response.getSkipped()).isEqualTo(1);
+		assertThat(response.getResults())
+				.extracting(BulkReviewResponse.Result::getEvidenceId, BulkReviewResponse.Result::getOutcome)
+				.containsExactly(
+						tuple(10L, BulkReviewResponse.Outcome.UPDATED),
+						tuple(11L, BulkReviewResponse.Outcome.UPDATED),
+						tuple(12L, BulkReviewResponse.Outcome.NOT_REVIEWABLE));
+		verify(outboxService).enqueue(eq(EvidenceProcessingService.REVIEW_TOPIC), eq("batch-1"), any(EvidenceReviewedEvent.class));
+	}
+
+	@Test
+	void rejectsAnUnknownBatch() {
+		when(evidenceUploadRepository.reviewByBatch(anyString(), any(), anyString())).thenReturn(List.of());
+		when(evidenceUploadRepository.findUnreviewableIdsByBatch(anyString())).thenReturn(List.of());
+
+		BulkReviewRequest request = new BulkReviewRequest();
+		request.setAction(BulkReviewRequest.Action.APPROVE);
+		request.setBatchId("missing");
+
+		assertThatThrownBy(() -> service.reviewEvidence(request, reviewer))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("missing");
+	}
+
+	@Test
+	void requiresAReasonToReject() {
+		assertThatThrownBy(() -> service.reviewEvidence(byIds(BulkReviewRequest.Action.REJECT, 1L), reviewer))
+				.isInstanceOf(IllegalArgumentException.class);
+		verifyNoInteractions(evidenceUploadRepository);
+	}
+
+	private static BulkReviewRequest byIds(BulkReviewRequest.Action action, Long... ids) {
+		BulkReviewRequest request = new BulkReviewRequest();
+		request.setAction(action);
+		request.setEvidenceIds(List.of(ids));
+		return request;
+	}
+}
@@ -0,0 +1,57 @@
+package com.saumajit.tprm.grc.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordMatcherTest {
+
+	@Test
+	void countsWholeWordsOnly() {
+		KeywordMatcher matcher = new KeywordMatcher(Map.of("soc", List.of(1L)));
+
+		assertThat(matcher.countMatches("SOC report, soc-2 and (soc)")).containsEntry(1L, 3);
+		assertThat(matcher.countMatches("associate socket isoc")).isEmpty();
+	}
+
+	@Test
+	void findsOverlappingKeywords() {
+		KeywordMatcher matcher = new KeywordMatcher(Map.of(
+				"penetration test", List.of(1L),
+				"test", List.of(2L),
+				"test report", List.of(3L)));
+
+		assertThat(matcher.countMatches("annual penetration test report"))
+				.containsEntry(1L, 1)
+				.containsEntry(2L, 1)
+				.containsEntry(3L, 1);
+	}
+
+	@Test
+	void countsKeywordsDifferingOnlyInCaseOnce() {
+		KeywordMatcher matcher = new KeywordMatcher(Map.of(
+				"ISO 27001", List.of(1L),
+				"iso 27001", List.of(1L)));
+
+		assertThat(matcher.countMatches("ISO 27001 certificate")).containsEntry(1L, 1);
+	}
+
+	@Test
+	void bestCategoryPrefersMostHitsThenLowestId() {
+		KeywordMatcher matcher = new KeywordMatcher(Map.of(
+				"policy", List.of(5L, 3L),
+				"privacy", List.of(5L)));
+
+		assertThat(matcher.bestCategory("privacy policy")).contains(5L);
+		assertThat(matcher.bestCategory("policy")).contains(3L);
+		assertThat(matcher.bestCategory("nothing relevant")).isEmpty();
+	}
+
+	@Test
+	void emptyKeywordsProduceEmptyMatcher() {
+		assertThat(new KeywordMatcher(Map.of("  ", List.of(1L))).isEmpty()).isTrue();
+	}
+}